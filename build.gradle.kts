@@ -149,4 +149,13 @@ repositories {
 dependencies {
     compileOnly("com.gtnewhorizons.retrofuturabootstrap:RetroFuturaBootstrap:1.0.16")
     compileOnly("io.github.legacymoddingmc:unimixins:0.3.0:dev")
+
+    testImplementation(platform("org.junit:junit-bom:5.11.4"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+tasks.test {
+    useJUnitPlatform()
+    systemProperty("falsepatternlib.config.binaryStorage", "true")
 }
\ No newline at end of file
@@ -33,6 +33,7 @@ import com.falsepattern.lib.mapping.types.UniversalField;
 import com.falsepattern.lib.mapping.types.UniversalMethod;
 import lombok.SneakyThrows;
 import lombok.val;
+import org.jetbrains.annotations.ApiStatus;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Opcodes;
@@ -40,7 +41,14 @@ import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.FieldNode;
 import org.objectweb.asm.tree.MethodNode;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 public class ASMUtil {
@@ -73,9 +81,7 @@ public class ASMUtil {
     }
 
     public static FieldNode findFieldFromUniversal(ClassNode cn, UniversalField field, boolean optional) {
-        String[] possibilities = CoreLoadingPlugin.isObfuscated() ? new String[]{field.getName(MappingType.SRG),
-                                                                                 field.getName(MappingType.Notch)}
-                                                                  : new String[]{field.getName(MappingType.MCP)};
+        String[] possibilities = possibleNames(field);
         for (final FieldNode ret : cn.fields) {
             if (anyEquals(ret.name, possibilities)) {
                 return ret;
@@ -88,6 +94,26 @@ public class ASMUtil {
                 possibilities.length == 1 ? possibilities[0] : Arrays.toString(possibilities));
     }
 
+    /**
+     * Same as {@link #findFieldFromUniversal(ClassNode, UniversalField, boolean)}, but uses a prebuilt index instead
+     * of scanning the fields of the class.
+     */
+    @ApiStatus.AvailableSince("1.13.0")
+    public static FieldNode findFieldFromUniversal(ClassMemberIndex index, UniversalField field, boolean optional) {
+        String[] possibilities = possibleNames(field);
+        for (val name : possibilities) {
+            val ret = index.field(name);
+            if (ret != null) {
+                return ret;
+            }
+        }
+        if (optional) {
+            return null;
+        }
+        throw new AsmFieldNotFoundException(
+                possibilities.length == 1 ? possibilities[0] : Arrays.toString(possibilities));
+    }
+
     public static MethodNode findMethodStandard(ClassNode cn, String name, String descriptor, boolean optional) {
         for (final MethodNode ret : cn.methods) {
             if (name.equals(ret.name) && descriptor.equals(ret.desc)) {
@@ -115,13 +141,8 @@ public class ASMUtil {
     }
 
     public static MethodNode findMethodFromUniversal(ClassNode cn, UniversalMethod method, boolean optional) {
-        String[] possibleNames = CoreLoadingPlugin.isObfuscated() ? new String[]{method.getName(MappingType.SRG),
-                                                                                 method.getName(MappingType.Notch)}
-                                                                  : new String[]{method.getName(MappingType.MCP)};
-        String[] possibleDescriptors =
-                CoreLoadingPlugin.isObfuscated() ? new String[]{method.getDescriptor(MappingType.SRG),
-                                                                method.getDescriptor(MappingType.Notch)}
-                                                 : new String[]{method.getDescriptor(MappingType.MCP)};
+        String[] possibleNames = possibleNames(method);
+        String[] possibleDescriptors = possibleDescriptors(method);
         for (final MethodNode ret : cn.methods) {
             if (anyEquals(ret.name, possibleNames) && anyEquals(ret.desc, possibleDescriptors)) {
                 return ret;
@@ -134,37 +155,115 @@ public class ASMUtil {
                 possibleDescriptors.length == 1 ? possibleDescriptors[0] : Arrays.toString(possibleDescriptors));
     }
 
-    public static MappingType discoverClassMappingType(ClassNode cn) {
-        if (!CoreLoadingPlugin.isObfuscated()) {
-            if (MappingManager.containsClass(NameType.Internal, MappingType.MCP, cn.name)) {
-                return MappingType.MCP;
+    /**
+     * Same as {@link #findMethodFromUniversal(ClassNode, UniversalMethod, boolean)}, but uses a prebuilt index instead
+     * of scanning the methods of the class.
+     */
+    @ApiStatus.AvailableSince("1.13.0")
+    public static MethodNode findMethodFromUniversal(ClassMemberIndex index, UniversalMethod method, boolean optional) {
+        String[] possibleNames = possibleNames(method);
+        String[] possibleDescriptors = possibleDescriptors(method);
+        for (val name : possibleNames) {
+            for (val descriptor : possibleDescriptors) {
+                val ret = index.method(name, descriptor);
+                if (ret != null) {
+                    return ret;
+                }
             }
-        } else if (MappingManager.containsClass(NameType.Internal, MappingType.SRG, cn.name)) {
-            return MappingType.SRG;
-        } else if (MappingManager.containsClass(NameType.Internal, MappingType.Notch, cn.name)) {
-            return MappingType.Notch;
         }
-        return null;
+        if (optional) {
+            return null;
+        }
+        throw new AsmMethodNotFoundException(
+                possibleNames.length == 1 ? possibleNames[0] : Arrays.toString(possibleNames));
     }
 
-    public static UniversalClass toUniversalClass(ClassNode cn) {
-        if (!CoreLoadingPlugin.isObfuscated()) {
-            try {
-                return MappingManager.classForName(NameType.Internal, MappingType.MCP, cn.name);
-            } catch (ClassNotFoundException e) {
-                throw new AsmClassNotFoundException(cn.name);
+    /**
+     * Resolves a whole set of methods with a single pass over the methods of the class.
+     *
+     * @param cn       The class to search in
+     * @param methods  The methods to look for
+     * @param optional If false, an {@link AsmMethodNotFoundException} is thrown if any of the methods is missing
+     *
+     * @return The found method nodes. Methods that were not found are absent from the map.
+     */
+    @ApiStatus.AvailableSince("1.13.0")
+    public static Map<UniversalMethod, MethodNode> findMethodsFromUniversal(ClassNode cn, Collection<UniversalMethod> methods, boolean optional) {
+        //Several of the requested methods can share a name and descriptor
+        val candidates = new HashMap<String, List<UniversalMethod>>();
+        val requested = Collections.newSetFromMap(new IdentityHashMap<UniversalMethod, Boolean>());
+        for (val method : methods) {
+            if (!requested.add(method)) {
+                continue;
+            }
+            for (val name : possibleNames(method)) {
+                for (val descriptor : possibleDescriptors(method)) {
+                    List<UniversalMethod> sameKey = candidates.computeIfAbsent(name + descriptor, (ignored) -> new ArrayList<>());
+                    //Names and descriptors can be the same in both namespaces
+                    if (sameKey.isEmpty() || sameKey.get(sameKey.size() - 1) != method) {
+                        sameKey.add(method);
+                    }
+                }
             }
-        } else {
-            try {
-                return MappingManager.classForName(NameType.Internal, MappingType.SRG, cn.name);
-            } catch (ClassNotFoundException e) {
-                try {
-                    return MappingManager.classForName(NameType.Internal, MappingType.Notch, cn.name);
-                } catch (ClassNotFoundException ex) {
-                    throw new AsmClassNotFoundException(cn.name);
+        }
+        val result = new IdentityHashMap<UniversalMethod, MethodNode>();
+        for (final MethodNode node : cn.methods) {
+            val sameKey = candidates.get(node.name + node.desc);
+            if (sameKey != null) {
+                for (val method : sameKey) {
+                    //The first match in scan order wins
+                    result.putIfAbsent(method, node);
                 }
             }
         }
+        if (!optional && result.size() != requested.size()) {
+            for (val method : requested) {
+                if (!result.containsKey(method)) {
+                    val possibleNames = possibleNames(method);
+                    throw new AsmMethodNotFoundException(
+                            possibleNames.length == 1 ? possibleNames[0] : Arrays.toString(possibleNames));
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String[] possibleNames(UniversalField field) {
+        return CoreLoadingPlugin.isObfuscated() ? new String[]{field.getName(MappingType.SRG),
+                                                               field.getName(MappingType.Notch)}
+                                                : new String[]{field.getName(MappingType.MCP)};
+    }
+
+    private static String[] possibleNames(UniversalMethod method) {
+        return CoreLoadingPlugin.isObfuscated() ? new String[]{method.getName(MappingType.SRG),
+                                                               method.getName(MappingType.Notch)}
+                                                : new String[]{method.getName(MappingType.MCP)};
+    }
+
+    private static String[] possibleDescriptors(UniversalMethod method) {
+        return CoreLoadingPlugin.isObfuscated() ? new String[]{method.getDescriptor(MappingType.SRG),
+                                                               method.getDescriptor(MappingType.Notch)}
+                                                : new String[]{method.getDescriptor(MappingType.MCP)};
+    }
+
+    public static MappingType discoverClassMappingType(ClassNode cn) {
+        return MappingManager.runtimeMappingType(cn.name);
+    }
+
+    public static UniversalClass toUniversalClass(ClassNode cn) {
+        try {
+            return MappingManager.runtimeClassForName(cn.name);
+        } catch (ClassNotFoundException e) {
+            throw new AsmClassNotFoundException(cn.name);
+        }
+    }
+
+    /**
+     * Creates a lazily built member index for the given class. See {@link ClassMemberIndex}.
+     */
+    @ApiStatus.AvailableSince("1.13.0")
+    public static ClassMemberIndex index(ClassNode cn) {
+        return new ClassMemberIndex(cn);
     }
 
     public static ClassNode parseClass(byte[] bytes, int readerFlags) {
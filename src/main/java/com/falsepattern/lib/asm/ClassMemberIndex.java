@@ -0,0 +1,80 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.asm;
+
+import lombok.val;
+import org.jetbrains.annotations.ApiStatus;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.objectweb.asm.tree.MethodNode;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A lazily built name (and descriptor) index over the fields and methods of a {@link ClassNode}. Create one with
+ * {@link ASMUtil#index(ClassNode)} at the start of a transformer invocation, and reuse it for every lookup against the
+ * same node.
+ * <p>
+ * The index is a snapshot: members added to or removed from the node after the first field/method lookup are not
+ * reflected in it.
+ */
+@ApiStatus.AvailableSince("1.13.0")
+public final class ClassMemberIndex {
+    private final ClassNode node;
+    private Map<String, FieldNode> fields = null;
+    private Map<String, MethodNode> methods = null;
+
+    ClassMemberIndex(ClassNode node) {
+        this.node = node;
+    }
+
+    public ClassNode node() {
+        return node;
+    }
+
+    /**
+     * @return The first field with the given name, or null if there is none.
+     */
+    public FieldNode field(String name) {
+        if (fields == null) {
+            fields = new HashMap<>(node.fields.size() * 2);
+            for (val field : node.fields) {
+                fields.putIfAbsent(field.name, field);
+            }
+        }
+        return fields.get(name);
+    }
+
+    /**
+     * @return The method with the given name and descriptor, or null if there is none.
+     */
+    public MethodNode method(String name, String descriptor) {
+        if (methods == null) {
+            methods = new HashMap<>(node.methods.size() * 2);
+            for (val method : node.methods) {
+                methods.putIfAbsent(method.name + method.desc, method);
+            }
+        }
+        return methods.get(name + descriptor);
+    }
+}
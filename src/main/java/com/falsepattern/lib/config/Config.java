@@ -229,6 +229,21 @@ public @interface Config {
 
     // endregion
 
+    // region Snapshots
+
+    /**
+     * Publishes the values of this configuration class as an immutable {@link ConfigSnapshot} every time they change.
+     * Use this for configs that are read from threads other than the main thread.
+     * @see ConfigurationManager#getSnapshot(Class)
+     */
+    @ApiStatus.AvailableSince("1.13.0")
+    @Documented
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.TYPE)
+    @interface PublishSnapshots {}
+
+    // endregion
+
     // region Boolean
 
     /**
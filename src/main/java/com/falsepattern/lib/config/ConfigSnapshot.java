@@ -0,0 +1,121 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.config;
+
+import lombok.val;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable copy of all values of a config class, taken at a single point in time. Snapshots are only published
+ * for config classes annotated with {@link Config.PublishSnapshots}, and a new snapshot replaces the old one atomically
+ * after every load, save, gui change and synchronization. This makes them safe to read from any thread, without ever
+ * observing a partially applied config.
+ * <p>
+ * Values are keyed by the name of the java field, and array values are copied on every read.
+ *
+ * @see ConfigurationManager#getSnapshot(Class)
+ */
+@ApiStatus.AvailableSince("1.13.0")
+public final class ConfigSnapshot {
+    public final Class<?> configClass;
+    /**
+     * Increases by one for every snapshot published for the same config class.
+     */
+    public final long version;
+    private final Map<String, Object> values;
+
+    @ApiStatus.Internal
+    public ConfigSnapshot(Class<?> configClass, long version, Map<String, Object> values) {
+        this.configClass = configClass;
+        this.version = version;
+        this.values = values;
+    }
+
+    public Set<String> fieldNames() {
+        return Collections.unmodifiableSet(values.keySet());
+    }
+
+    public boolean getBoolean(String fieldName) {
+        return (Boolean) value(fieldName);
+    }
+
+    public int getInt(String fieldName) {
+        return (Integer) value(fieldName);
+    }
+
+    public double getDouble(String fieldName) {
+        return (Double) value(fieldName);
+    }
+
+    public String getString(String fieldName) {
+        return (String) value(fieldName);
+    }
+
+    public <E extends Enum<E>> E getEnum(String fieldName, Class<E> enumClass) {
+        return enumClass.cast(value(fieldName));
+    }
+
+    public boolean[] getBooleanArray(String fieldName) {
+        return ((boolean[]) value(fieldName)).clone();
+    }
+
+    public int[] getIntArray(String fieldName) {
+        return ((int[]) value(fieldName)).clone();
+    }
+
+    public double[] getDoubleArray(String fieldName) {
+        return ((double[]) value(fieldName)).clone();
+    }
+
+    public String[] getStringArray(String fieldName) {
+        return ((String[]) value(fieldName)).clone();
+    }
+
+    /**
+     * @return The value of the given field, boxed if it's a primitive, and copied if it's an array.
+     */
+    public Object get(String fieldName) {
+        val value = value(fieldName);
+        if (value instanceof boolean[]) {
+            return ((boolean[]) value).clone();
+        } else if (value instanceof int[]) {
+            return ((int[]) value).clone();
+        } else if (value instanceof double[]) {
+            return ((double[]) value).clone();
+        } else if (value instanceof String[]) {
+            return ((String[]) value).clone();
+        }
+        return value;
+    }
+
+    private Object value(String fieldName) {
+        val value = values.get(fieldName);
+        if (value == null && !values.containsKey(fieldName)) {
+            throw new IllegalArgumentException("Config class " + configClass.getName() + " has no config field " + fieldName);
+        }
+        return value;
+    }
+}
@@ -35,6 +35,7 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.function.BiConsumer;
 
 /**
@@ -68,6 +69,25 @@ public class ConfigurationManager {
         }
     }
 
+    /**
+     * Same as {@link #initialize(Class[])}, but meant for registering a large amount of config classes at startup.
+     * Every config file is only loaded once, and config classes stored in different files are parsed and loaded in
+     * parallel. Static initializers, validation, events and the callback all still happen on the calling thread.
+     */
+    @ApiStatus.AvailableSince("1.13.0")
+    public static void initializeAll(Class<?>... configClasses) throws ConfigException {
+        initializeAll((a, b) -> {}, configClasses);
+    }
+
+    /**
+     * @see #initializeAll(Class[])
+     */
+    @ApiStatus.AvailableSince("1.13.0")
+    public static void initializeAll(BiConsumer<Class<?>, Field> validatorErrorCallback, Class<?>... configClasses)
+            throws ConfigException {
+        ConfigurationManagerImpl.initializeAll(validatorErrorCallback, configClasses);
+    }
+
     @ApiStatus.AvailableSince("0.10.0")
     public static boolean validate(boolean resetInvalid, Class<?>... configClasses) throws ConfigException {
         return validate((x, y) -> {}, resetInvalid, configClasses);
@@ -90,6 +110,10 @@ public class ConfigurationManager {
         }
     }
 
+    /**
+     * Saves the config classes and writes their files. Unlike the other methods here, which leave writing the files to
+     * a background thread, this only returns once the files are on disk.
+     */
     @ApiStatus.AvailableSince("0.10.0")
     public static void saveToFile(boolean validateAndResetInvalid, Class<?>... configClasses) throws ConfigException {
         for (val clazz : configClasses) {
@@ -98,6 +122,46 @@ public class ConfigurationManager {
             }
             ConfigurationManagerImpl.save(clazz);
         }
+        for (val clazz : configClasses) {
+            ConfigurationManagerImpl.flush(clazz);
+        }
+    }
+
+    /**
+     * Returns the latest snapshot of a config class annotated with {@link Config.PublishSnapshots}. This can be called
+     * from any thread. Keep using the same snapshot for related reads to get a consistent view of the config.
+     *
+     * @param configClass The config class.
+     *
+     * @return The latest snapshot of the config's values.
+     */
+    @ApiStatus.AvailableSince("1.13.0")
+    public static ConfigSnapshot getSnapshot(Class<?> configClass) throws ConfigException {
+        return ConfigurationManagerImpl.getSnapshot(configClass);
+    }
+
+    /**
+     * Returns a read-only set view of a String[] config field, for fast lookups in blacklists and similar configs. The
+     * view always reflects the current value of the field, the set behind it is rebuilt on the first lookup after the
+     * array in the field gets replaced (when loading, syncing or assigning a new array). Changing the elements of the
+     * array in place is not detected.
+     *
+     * @param configClass The config class.
+     * @param fieldName   The name of the java field.
+     *
+     * @return The set view.
+     */
+    @ApiStatus.AvailableSince("1.13.0")
+    public static Set<String> getStringSetView(Class<?> configClass, String fieldName) throws ConfigException {
+        return ConfigurationManagerImpl.getStringSetView(configClass, fieldName);
+    }
+
+    /**
+     * Same as {@link #getStringSetView(Class, String)}, but for int[] config fields.
+     */
+    @ApiStatus.AvailableSince("1.13.0")
+    public static ConfigIntSet getIntSetView(Class<?> configClass, String fieldName) throws ConfigException {
+        return ConfigurationManagerImpl.getIntSetView(configClass, fieldName);
     }
 
     /**
@@ -22,16 +22,56 @@
 
 package com.falsepattern.lib.internal;
 
+import lombok.val;
+
 import cpw.mods.fml.common.FMLCommonHandler;
 import cpw.mods.fml.common.eventhandler.Event;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public class EventUtil {
+    private static final ThreadLocal<List<Event>> deferred = new ThreadLocal<>();
+
+    /**
+     * Events posted while deferred are queued up, and are never cancelled.
+     */
     public static boolean postOnCommonBus(Event event) {
         if (!Share.EARLY_INIT_DONE) {
             return false;
         }
+        val queue = deferred.get();
+        if (queue != null) {
+            queue.add(event);
+            return false;
+        }
         return FMLCommonHandler.instance()
                                .bus()
                                .post(event);
     }
+
+    /**
+     * Starts queueing up the events posted on the current thread, for work done on helper threads. Listeners expect
+     * to be called on the main thread, so the queued events are handed over with {@link #stopDeferring()} and posted
+     * there with {@link #postAll(List)}.
+     */
+    public static void deferOnThisThread() {
+        deferred.set(new ArrayList<>());
+    }
+
+    /**
+     * @return The events queued up on the current thread since {@link #deferOnThisThread()}.
+     */
+    public static List<Event> stopDeferring() {
+        val queue = deferred.get();
+        deferred.remove();
+        return queue == null ? Collections.emptyList() : queue;
+    }
+
+    public static void postAll(List<Event> events) {
+        for (val event : events) {
+            postOnCommonBus(event);
+        }
+    }
 }
@@ -31,6 +31,9 @@ import cpw.mods.fml.common.event.FMLConstructionEvent;
 import cpw.mods.fml.common.event.FMLInitializationEvent;
 import cpw.mods.fml.common.event.FMLPostInitializationEvent;
 import cpw.mods.fml.common.event.FMLPreInitializationEvent;
+import cpw.mods.fml.common.event.FMLServerStartedEvent;
+import cpw.mods.fml.common.event.FMLServerStartingEvent;
+import cpw.mods.fml.common.event.FMLServerStoppingEvent;
 import cpw.mods.fml.common.network.NetworkRegistry;
 import cpw.mods.fml.common.network.simpleimpl.SimpleNetworkWrapper;
 
@@ -79,4 +82,19 @@ public class FalsePatternLib {
     public void postInit(FMLPostInitializationEvent e) {
         proxy.postInit(e);
     }
+
+    @Mod.EventHandler
+    public void serverStarting(FMLServerStartingEvent e) {
+        proxy.serverStarting(e);
+    }
+
+    @Mod.EventHandler
+    public void serverStarted(FMLServerStartedEvent e) {
+        proxy.serverStarted(e);
+    }
+
+    @Mod.EventHandler
+    public void serverStopping(FMLServerStoppingEvent e) {
+        proxy.serverStopping(e);
+    }
 }
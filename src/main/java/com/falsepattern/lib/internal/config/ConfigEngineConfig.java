@@ -50,6 +50,28 @@ public class ConfigEngineConfig {
     @Config.Name(value = "configSyncFailureLogging")
     public static LoggingLevel CONFIG_SYNC_FAILURE_LOGGING;
 
+    @Config.Comment({"Compression level of config synchronization packets sent by the server.",
+                     "0 disables compression, 9 produces the smallest packets but is the slowest."})
+    @Config.LangKey
+    @Config.DefaultInt(9)
+    @Config.RangeInt(min = 0, max = 9)
+    @Config.Name(value = "configSyncCompressionLevel")
+    public static int CONFIG_SYNC_COMPRESSION_LEVEL;
+
+    @Config.Comment({"Watch the config files on disk while a server is running, and reload them when they change.",
+                     "Synchronized configs are sent to the connected players after a reload."})
+    @Config.LangKey
+    @Config.DefaultBoolean(false)
+    @Config.Name(value = "configHotReload")
+    public static boolean CONFIG_HOT_RELOAD;
+
+    @Config.Comment({"Store compressed config sync payloads in config/falsepatternlib/sync, named by the hash of their contents.",
+                     "Servers sharing that directory and the same configs reuse each other's payloads instead of compressing them again."})
+    @Config.LangKey
+    @Config.DefaultBoolean(false)
+    @Config.Name(value = "configSyncPayloadStore")
+    public static boolean CONFIG_SYNC_PAYLOAD_STORE;
+
     static {
         ConfigurationManager.selfInit();
     }
@@ -0,0 +1,226 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config;
+
+import com.falsepattern.lib.internal.FPLog;
+import com.falsepattern.lib.internal.Tags;
+import com.falsepattern.lib.internal.impl.config.fields.CompactIO;
+import com.falsepattern.lib.util.FileUtil;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.val;
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraftforge.common.config.Configuration;
+import net.minecraftforge.common.config.Property;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+
+/**
+ * Optional binary copy of config files, enabled with the {@code falsepatternlib.config.binaryStorage} system property.
+ * <p>
+ * The binary file holds the same categories and properties as the .cfg file, which stays the human-editable version.
+ * It also records the modification time and size of the .cfg file it was written together with. As long as those
+ * still match, the config is loaded from the binary file, skipping the text parser. If the .cfg file was edited, it
+ * gets parsed as usual and the binary file is rewritten.
+ * <p>
+ * Like the text parser, this only restores names, types and values. Comments and everything else comes from the config
+ * classes.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class BinaryConfigStore {
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(Tags.MODID + ".config.binaryStorage", "false"));
+    private static final int MAGIC = 0x46504342; //FPCB
+    private static final int FORMAT_VERSION = 1;
+    private static final String NAME = "binary config";
+
+    /**
+     * @return Where the binary copy of the given config file is stored, or null if it doesn't have one.
+     */
+    static @Nullable Path binaryFile(Path configFile) {
+        if (!ENABLED) {
+            return null;
+        }
+        val configDir = FileUtil.getMinecraftHomePath().resolve("config").toAbsolutePath().normalize();
+        val file = configFile.toAbsolutePath().normalize();
+        if (!file.startsWith(configDir)) {
+            return null;
+        }
+        return FileUtil.getMinecraftHomePath()
+                       .resolve(Tags.MODID)
+                       .resolve("config_cache")
+                       .resolve(configDir.relativize(file) + ".bin");
+    }
+
+    /**
+     * Fills the configuration from its binary copy.
+     *
+     * @return False if there is no up-to-date binary copy, in which case the configuration is left untouched.
+     */
+    static boolean load(Configuration config, Path configFile) {
+        val binary = binaryFile(configFile);
+        val stamp = FileStamp.of(configFile);
+        if (binary == null || stamp == null || config.getDefinedConfigVersion() != null) {
+            return false;
+        }
+        val categories = new ArrayList<Category>();
+        try (val input = new DataInputStream(new BufferedInputStream(Files.newInputStream(binary)))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                return false;
+            }
+            if (input.readLong() != stamp.modified() || input.readLong() != stamp.size()) {
+                return false;
+            }
+            //Read everything before touching the config, so that a broken file can't leave it half-loaded
+            val categoryCount = CompactIO.readVarInt(input);
+            for (int i = 0; i < categoryCount; i++) {
+                val category = new Category(readString(input), new ArrayList<>());
+                val propertyCount = CompactIO.readVarInt(input);
+                for (int j = 0; j < propertyCount; j++) {
+                    val name = readString(input);
+                    val typeName = readString(input);
+                    val type = typeName.isEmpty() ? null : Property.Type.valueOf(typeName);
+                    if (input.readBoolean()) {
+                        val values = new String[CompactIO.readVarInt(input)];
+                        for (int k = 0; k < values.length; k++) {
+                            values[k] = readString(input);
+                        }
+                        category.properties().add(new Property(name, values, type));
+                    } else {
+                        category.properties().add(new Property(name, readString(input), type));
+                    }
+                }
+                categories.add(category);
+            }
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException | RuntimeException e) {
+            FPLog.LOG.debug("Could not read binary config " + binary + ", falling back to " + configFile, e);
+            return false;
+        }
+        for (val category : categories) {
+            val target = config.getCategory(category.name());
+            for (val property : category.properties()) {
+                target.put(property.getName(), property);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the binary copy of a configuration that was just loaded from the given config file.
+     */
+    static void save(Configuration config, Path configFile) {
+        try {
+            val contents = render(config, configFile);
+            if (contents != null) {
+                write(configFile, contents);
+            }
+        } catch (IOException e) {
+            FPLog.LOG.warn("Failed to write binary config of " + configFile, e);
+        }
+    }
+
+    /**
+     * Renders the categories and properties of a configuration, without touching the disk.
+     *
+     * @return The rendered contents, or null if the config file has no binary copy.
+     */
+    @Nullable
+    static byte[] render(Configuration config, Path configFile) throws IOException {
+        if (binaryFile(configFile) == null || config.getDefinedConfigVersion() != null) {
+            return null;
+        }
+        val bytes = new ByteArrayOutputStream();
+        try (val output = new DataOutputStream(bytes)) {
+            val names = config.getCategoryNames();
+            CompactIO.writeVarInt(output, names.size());
+            for (val name : names) {
+                val category = config.getCategory(name);
+                CompactIO.writeString(output, name);
+                CompactIO.writeVarInt(output, category.size());
+                for (val property : category.values()) {
+                    CompactIO.writeString(output, property.getName());
+                    CompactIO.writeString(output, property.getType() == null ? "" : property.getType().name());
+                    output.writeBoolean(property.isList());
+                    if (property.isList()) {
+                        val values = property.getStringList();
+                        CompactIO.writeVarInt(output, values.length);
+                        for (val value : values) {
+                            CompactIO.writeString(output, value);
+                        }
+                    } else {
+                        CompactIO.writeString(output, property.getString());
+                    }
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes the binary copy of a config file that was just written, from contents created by
+     * {@link #render(Configuration, Path)}.
+     */
+    static void write(Path configFile, byte[] contents) {
+        val binary = binaryFile(configFile);
+        val stamp = FileStamp.of(configFile);
+        if (binary == null || stamp == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(binary.getParent());
+            val temp = binary.resolveSibling(binary.getFileName() + ".tmp");
+            try (val output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.writeLong(stamp.modified());
+                output.writeLong(stamp.size());
+                output.write(contents);
+            }
+            try {
+                Files.move(temp, binary, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, binary, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            FPLog.LOG.warn("Failed to write binary config " + binary, e);
+        }
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+        return CompactIO.readString(input, -1, NAME, NAME);
+    }
+
+    private record Category(String name, ArrayList<Property> properties) {}
+}
@@ -0,0 +1,182 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config;
+
+import com.falsepattern.lib.internal.FPLog;
+import com.falsepattern.lib.internal.Tags;
+import com.falsepattern.lib.util.FileUtil;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.val;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The last sync reply applied from each server, stored on the client. The client advertises the hash of the stored
+ * reply when it connects again, and if the server would send the exact same reply, it only sends back a tiny
+ * "unchanged" reply, and the stored one gets applied instead.
+ * <p>
+ * The stored reply is read in the background as soon as the server address is known, and written in the background
+ * too, so the network and client threads never touch the disk.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ClientSyncCache {
+    private static final int MAGIC = 0x46505343; //FPSC
+    private static final ExecutorService IO = Executors.newSingleThreadExecutor((task) -> {
+        val thread = new Thread(task);
+        thread.setName("Config Sync Cache");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * The server we're connected to, null in singleplayer or when not connected.
+     */
+    private static volatile Server current;
+
+    static synchronized void setServer(@Nullable String address) {
+        if (address == null) {
+            current = null;
+            return;
+        }
+        val bytes = address.getBytes(StandardCharsets.UTF_8);
+        val hash = new HashOutputStream();
+        hash.write(bytes, 0, bytes.length);
+        val file = FileUtil.getMinecraftHomePath()
+                           .resolve(Tags.MODID)
+                           .resolve("sync_cache")
+                           .resolve(String.format("%016x.bin", hash.finish()));
+        current = new Server(file, CompletableFuture.supplyAsync(() -> read(file), IO));
+    }
+
+    /**
+     * @return The payload hash of the stored reply of the current server, 0 if there is none, or if it wasn't read yet.
+     */
+    static long storedHash() {
+        val stored = stored();
+        return stored == null ? 0 : stored.payloadHash();
+    }
+
+    /**
+     * @return The stored compressed reply of the current server, or null if there is none with the given hash.
+     */
+    @Nullable
+    static byte[] load(long payloadHash) {
+        val stored = stored();
+        return stored == null || stored.payloadHash() != payloadHash ? null : stored.reply();
+    }
+
+    static void store(long payloadHash, byte[] compressedReply) {
+        val file = replace(new Stored(payloadHash, compressedReply));
+        if (file != null) {
+            IO.execute(() -> write(file, payloadHash, compressedReply));
+        }
+    }
+
+    static void forget() {
+        val file = replace(null);
+        if (file != null) {
+            IO.execute(() -> delete(file));
+        }
+    }
+
+    @Nullable
+    private static Stored stored() {
+        val server = current;
+        return server == null ? null : server.stored().getNow(null);
+    }
+
+    /**
+     * @return The file of the current server, null if there is none.
+     */
+    @Nullable
+    private static synchronized Path replace(@Nullable Stored stored) {
+        val server = current;
+        if (server == null) {
+            return null;
+        }
+        current = new Server(server.file(), CompletableFuture.completedFuture(stored));
+        return server.file();
+    }
+
+    @Nullable
+    private static Stored read(Path file) {
+        try (val input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC) {
+                return null;
+            }
+            val payloadHash = input.readLong();
+            val reply = new byte[input.readInt()];
+            input.readFully(reply);
+            return new Stored(payloadHash, reply);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            FPLog.LOG.debug("Could not read stored config sync reply " + file, e);
+            return null;
+        }
+    }
+
+    private static void write(Path file, long payloadHash, byte[] compressedReply) {
+        try {
+            Files.createDirectories(file.getParent());
+            val temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (val output = new DataOutputStream(Files.newOutputStream(temp))) {
+                output.writeInt(MAGIC);
+                output.writeLong(payloadHash);
+                output.writeInt(compressedReply.length);
+                output.write(compressedReply);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            FPLog.LOG.warn("Failed to store config sync reply " + file, e);
+        }
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            FPLog.LOG.warn("Failed to delete stored config sync reply " + file, e);
+        }
+    }
+
+    private record Server(Path file, CompletableFuture<Stored> stored) {}
+
+    private record Stored(long payloadHash, byte[] reply) {}
+}
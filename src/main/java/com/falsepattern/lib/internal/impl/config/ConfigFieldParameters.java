@@ -24,11 +24,12 @@ package com.falsepattern.lib.internal.impl.config;
 
 import net.minecraftforge.common.config.Configuration;
 
-import java.lang.reflect.Field;
+import java.util.concurrent.atomic.LongAdder;
 
 public record ConfigFieldParameters(
-        Field field,
+        FieldSchema schema,
         Configuration configuration,
         String modid,
-        String category
+        String category,
+        LongAdder validationFailures
 ) {}
@@ -0,0 +1,154 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config;
+
+import com.falsepattern.lib.config.event.ConfigSyncRequestEvent;
+import com.falsepattern.lib.internal.FPLog;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.val;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Watches the files of registered configs, and reloads them on the server thread when they are changed on disk.
+ * <p>
+ * Changes are debounced, because editors tend to write a file in several steps. Writes done by the config system
+ * itself are recognized by their modification time and size (see {@link ManagedConfiguration#isUnchangedOnDisk()}),
+ * and ignored.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ConfigFileWatcher {
+    private static final long DEBOUNCE_MILLIS = 500;
+    private static final Map<Path, Long> pendingReloads = new ConcurrentHashMap<>();
+    private static WatchService watchService;
+
+    public static synchronized void start(Set<Path> files) {
+        if (watchService != null) {
+            return;
+        }
+        final WatchService service;
+        val watchedDirs = new HashMap<WatchKey, Path>();
+        try {
+            service = FileSystems.getDefault().newWatchService();
+            val dirs = new HashSet<Path>();
+            for (val file : files) {
+                dirs.add(file.getParent());
+            }
+            for (val dir : dirs) {
+                watchedDirs.put(dir.register(service,
+                                             StandardWatchEventKinds.ENTRY_CREATE,
+                                             StandardWatchEventKinds.ENTRY_MODIFY), dir);
+            }
+        } catch (IOException e) {
+            FPLog.LOG.error("Could not start the config file watcher", e);
+            return;
+        }
+        watchService = service;
+        val watchedFiles = Collections.unmodifiableSet(new HashSet<>(files));
+        val thread = new Thread(() -> watch(service, watchedDirs, watchedFiles));
+        thread.setName("Config File Watcher");
+        thread.setDaemon(true);
+        thread.start();
+        FPLog.LOG.info("Watching {} config files for changes", watchedFiles.size());
+    }
+
+    public static synchronized void stop() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            FPLog.LOG.warn("Failed to close the config file watcher", e);
+        }
+        watchService = null;
+        pendingReloads.clear();
+    }
+
+    /**
+     * Reloads the files whose debounce delay has passed. Called every server tick.
+     */
+    public static void tick() {
+        if (pendingReloads.isEmpty()) {
+            return;
+        }
+        val now = System.currentTimeMillis();
+        val due = new ArrayList<Path>();
+        for (val entry : pendingReloads.entrySet()) {
+            if (entry.getValue() <= now) {
+                due.add(entry.getKey());
+            }
+        }
+        boolean resync = false;
+        for (val file : due) {
+            pendingReloads.remove(file);
+            if (!ConfigurationManagerImpl.isChangedOnDisk(file)) {
+                continue;
+            }
+            try {
+                resync |= ConfigurationManagerImpl.reloadConfigFile(file);
+                FPLog.LOG.info("Reloaded config file {} after it was changed on disk", file);
+            } catch (Exception e) {
+                FPLog.LOG.error("Failed to reload config file " + file, e);
+            }
+        }
+        if (resync) {
+            ConfigSyncRequestEvent.postServer(new ArrayList<>());
+        }
+    }
+
+    private static void watch(WatchService service, Map<WatchKey, Path> watchedDirs, Set<Path> watchedFiles) {
+        while (true) {
+            final WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            val dir = watchedDirs.get(key);
+            for (val event : key.pollEvents()) {
+                if (dir == null || !(event.context() instanceof Path)) {
+                    continue;
+                }
+                val file = dir.resolve((Path) event.context());
+                if (watchedFiles.contains(file)) {
+                    pendingReloads.put(file, System.currentTimeMillis() + DEBOUNCE_MILLIS);
+                }
+            }
+            key.reset();
+        }
+    }
+}
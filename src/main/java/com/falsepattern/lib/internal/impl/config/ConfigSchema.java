@@ -0,0 +1,60 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config;
+
+import com.falsepattern.lib.config.Config;
+import lombok.val;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The field metadata of a config class, read from its annotations once and reused by every reload, so that reloading
+ * a config only has to touch the values.
+ * <p>
+ * This is built when the config class is first parsed rather than at build time, since the declaration order is only
+ * added by {@link com.falsepattern.lib.internal.asm.transformers.ConfigOrderTransformer} when the class gets loaded.
+ *
+ * @param fields The config fields of the class, without ignored and final fields.
+ */
+public record ConfigSchema(List<FieldSchema> fields) {
+    private static final Map<Class<?>, ConfigSchema> schemas = new ConcurrentHashMap<>();
+
+    public static ConfigSchema of(Class<?> configClass) {
+        return schemas.computeIfAbsent(configClass, ConfigSchema::parse);
+    }
+
+    private static ConfigSchema parse(Class<?> configClass) {
+        val fields = new ArrayList<FieldSchema>();
+        for (val field : configClass.getDeclaredFields()) {
+            if (field.getAnnotation(Config.Ignore.class) != null || (field.getModifiers() & Modifier.FINAL) != 0) {
+                continue;
+            }
+            fields.add(FieldSchema.parse(field));
+        }
+        return new ConfigSchema(Collections.unmodifiableList(fields));
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config;
+
+import lombok.val;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for everything the config engine does with a single config class. Shown by {@link ConfigStatsCommand}.
+ */
+public final class ConfigStats {
+    /**
+     * Sync replies served from the reply cache, across all configs.
+     */
+    public static final LongAdder cachedReplies = new LongAdder();
+
+    public final Counter reloads = new Counter();
+    public final Counter loads = new Counter();
+    public final Counter saves = new Counter();
+    public final Counter validations = new Counter();
+    /**
+     * Validation failures per config field name. Kept here instead of in the fields, as those get recreated on reload.
+     */
+    private final Map<String, LongAdder> fieldFailures = new ConcurrentHashMap<>();
+    public final Counter syncSent = new Counter();
+    public final Counter syncReceived = new Counter();
+    public final Counter syncApplied = new Counter();
+
+    public long totalNanos() {
+        return reloads.nanos() + loads.nanos() + saves.nanos() + validations.nanos() + syncSent.nanos() +
+               syncReceived.nanos() + syncApplied.nanos();
+    }
+
+    public LongAdder fieldFailures(String fieldName) {
+        return fieldFailures.computeIfAbsent(fieldName, (ignored) -> new LongAdder());
+    }
+
+    public Map<String, LongAdder> fieldFailures() {
+        return Collections.unmodifiableMap(fieldFailures);
+    }
+
+    public long validationFailures() {
+        long total = 0;
+        for (val failures : fieldFailures.values()) {
+            total += failures.sum();
+        }
+        return total;
+    }
+
+    public void reset() {
+        reloads.reset();
+        loads.reset();
+        saves.reset();
+        validations.reset();
+        for (val failures : fieldFailures.values()) {
+            failures.reset();
+        }
+        syncSent.reset();
+        syncReceived.reset();
+        syncApplied.reset();
+    }
+
+    public static final class Counter {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        /**
+         * @param startNanos The {@link System#nanoTime()} at the start of the operation.
+         */
+        public void record(long startNanos) {
+            record(startNanos, 0);
+        }
+
+        public void record(long startNanos, long byteCount) {
+            count.increment();
+            nanos.add(System.nanoTime() - startNanos);
+            if (byteCount != 0) {
+                bytes.add(byteCount);
+            }
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long nanos() {
+            return nanos.sum();
+        }
+
+        public long bytes() {
+            return bytes.sum();
+        }
+
+        public void reset() {
+            count.reset();
+            nanos.reset();
+            bytes.reset();
+        }
+
+        @Override
+        public String toString() {
+            val result = new StringBuilder().append(count()).append("x ").append(String.format(Locale.ROOT, "%.2f", nanos() / 1e6)).append("ms");
+            val bytes = bytes();
+            if (bytes > 0) {
+                result.append(' ').append(bytes).append('B');
+            }
+            return result.toString();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config;
+
+import com.falsepattern.lib.internal.FPLog;
+import lombok.val;
+
+import net.minecraft.command.CommandBase;
+import net.minecraft.command.ICommandSender;
+import net.minecraft.command.WrongUsageException;
+import net.minecraft.util.ChatComponentText;
+
+import java.util.List;
+
+/**
+ * Shows the {@link ConfigStats} of every registered config class. The full report also goes to the log.
+ */
+public class ConfigStatsCommand extends CommandBase {
+    private final String name;
+    private final int permissionLevel;
+
+    public ConfigStatsCommand(String name, int permissionLevel) {
+        this.name = name;
+        this.permissionLevel = permissionLevel;
+    }
+
+    @Override
+    public String getCommandName() {
+        return name;
+    }
+
+    @Override
+    public String getCommandUsage(ICommandSender sender) {
+        return "/" + name + " configstats [reset]";
+    }
+
+    @Override
+    public int getRequiredPermissionLevel() {
+        return permissionLevel;
+    }
+
+    @Override
+    public boolean canCommandSenderUseCommand(ICommandSender sender) {
+        return permissionLevel == 0 || super.canCommandSenderUseCommand(sender);
+    }
+
+    @Override
+    public void processCommand(ICommandSender sender, String[] args) {
+        if (args.length == 0 || args.length > 2 || !"configstats".equals(args[0])) {
+            throw new WrongUsageException(getCommandUsage(sender));
+        }
+        if (args.length == 2) {
+            if (!"reset".equals(args[1])) {
+                throw new WrongUsageException(getCommandUsage(sender));
+            }
+            ConfigurationManagerImpl.resetStats();
+            sender.addChatMessage(new ChatComponentText("Config stats reset."));
+            return;
+        }
+        val report = ConfigurationManagerImpl.statsReport();
+        for (val line : report) {
+            FPLog.LOG.info(line);
+            sender.addChatMessage(new ChatComponentText(line));
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public List addTabCompletionOptions(ICommandSender sender, String[] args) {
+        if (args.length == 1) {
+            return getListOfStringsMatchingLastWord(args, "configstats");
+        } else if (args.length == 2) {
+            return getListOfStringsMatchingLastWord(args, "reset");
+        }
+        return null;
+    }
+}
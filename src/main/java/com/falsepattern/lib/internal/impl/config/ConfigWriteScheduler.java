@@ -0,0 +1,120 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config;
+
+import com.falsepattern.lib.internal.FPLog;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.val;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind saving for config files.
+ * <p>
+ * Registering, loading and editing configs only marks their file as dirty. Dirty files are rendered and written by a
+ * background thread shortly after the last change, before they are loaded again, and at shutdown, so a burst of
+ * changes results in a single write.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ConfigWriteScheduler {
+    private static final long FLUSH_DELAY_MILLIS = 1000;
+    private static final Set<ManagedConfiguration> pending = ConcurrentHashMap.newKeySet();
+    private static final Object WRITE_LOCK = new Object();
+    private static final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor((task) -> {
+        val thread = new Thread(task);
+        thread.setName("Config Writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        val hook = new Thread(ConfigWriteScheduler::flushAll);
+        hook.setName("Config Writer Shutdown");
+        Runtime.getRuntime().addShutdownHook(hook);
+    }
+
+    /**
+     * Queues the config to be written.
+     */
+    public static void markDirty(ManagedConfiguration config) {
+        if (config.isChild) {
+            //Part of forge's global config, which is written as a whole
+            config.save();
+            return;
+        }
+        pending.add(config);
+        if (flushScheduled.compareAndSet(false, true)) {
+            WRITER.schedule(() -> {
+                flushScheduled.set(false);
+                flushAll();
+            }, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Forgets pending changes, for files that are about to be deleted.
+     */
+    public static void discard(ManagedConfiguration config) {
+        pending.remove(config);
+    }
+
+    /**
+     * Writes the pending changes of the config, if there are any. Blocks until they are on disk.
+     */
+    public static void flush(ManagedConfiguration config) {
+        //Taking and writing happen under one lock, so that flush() only returns once the config is on disk
+        synchronized (WRITE_LOCK) {
+            if (pending.remove(config)) {
+                config.save();
+            }
+        }
+    }
+
+    public static void flushAll() {
+        for (val config : pending) {
+            flush(config);
+        }
+    }
+
+    /**
+     * Called before a config is loaded from disk. If the file was not touched by anyone else since we last read or
+     * wrote it, our pending changes are newer, so they are written first. Otherwise the file on disk wins.
+     */
+    public static void beforeLoad(ManagedConfiguration config) {
+        if (!pending.contains(config)) {
+            return;
+        }
+        if (config.isUnchangedOnDisk()) {
+            flush(config);
+        } else {
+            pending.remove(config);
+            FPLog.LOG.warn("Config file {} was changed on disk, discarding unsaved changes", config.getConfigFile());
+        }
+    }
+}
@@ -21,15 +21,25 @@
  */
 package com.falsepattern.lib.internal.impl.config;
 
+import com.falsepattern.lib.config.Config;
 import com.falsepattern.lib.config.ConfigException;
+import com.falsepattern.lib.config.ConfigIntSet;
+import com.falsepattern.lib.config.ConfigSnapshot;
 import com.falsepattern.lib.config.event.AllConfigSyncEvent;
 import com.falsepattern.lib.config.event.ConfigSyncEvent;
+import com.falsepattern.lib.internal.EventUtil;
 import com.falsepattern.lib.internal.FPLog;
 import com.falsepattern.lib.internal.FalsePatternLib;
+import com.falsepattern.lib.internal.config.ConfigEngineConfig;
+import com.falsepattern.lib.internal.impl.config.fields.AConfigField;
+import com.falsepattern.lib.internal.impl.config.fields.IntListConfigField;
+import com.falsepattern.lib.internal.impl.config.fields.StringListConfigField;
+import com.falsepattern.lib.internal.impl.config.net.SyncReply;
 import com.falsepattern.lib.internal.impl.config.net.SyncRequest;
 import com.falsepattern.lib.util.FileUtil;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
+import com.google.common.collect.Maps;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.val;
@@ -40,6 +50,7 @@ import net.minecraftforge.common.config.Configuration;
 import cpw.mods.fml.client.config.DummyConfigElement;
 import cpw.mods.fml.client.config.IConfigElement;
 import cpw.mods.fml.client.event.ConfigChangedEvent;
+import cpw.mods.fml.common.eventhandler.Event;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -47,16 +58,31 @@ import java.io.DataInput;
 import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 
 /**
@@ -67,22 +93,174 @@ import java.util.function.BiConsumer;
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class ConfigurationManagerImpl {
-    private static final Map<Path, Configuration> configs = new HashMap<>();
-    private static final Map<String, Set<Class<?>>> modConfigs = new HashMap<>();
-    private static final Map<Configuration, Set<Class<?>>> configToClassMap = new HashMap<>();
-    private static final Map<Class<?>, ParsedConfiguration> parsedConfigMap = new HashMap<>();
-    private static final BiMap<String, Class<?>> serializedNames = HashBiMap.create();
-    private static boolean initialized = false;
+    private static final int SYNC_PROTOCOL_VERSION = 4;
+    /**
+     * Sent instead of the config count when the client already has the reply stored.
+     */
+    private static final int UNCHANGED_REPLY = -2;
+    private static final Map<Path, ManagedConfiguration> configs = new ConcurrentHashMap<>();
+    private static final Map<String, Set<Class<?>>> modConfigs = new ConcurrentHashMap<>();
+    private static final Map<Configuration, Set<Class<?>>> configToClassMap = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ParsedConfiguration> parsedConfigMap = new ConcurrentHashMap<>();
+    private static final BiMap<String, Class<?>> serializedNames = Maps.synchronizedBiMap(HashBiMap.create());
+    /**
+     * Compressed sync replies, keyed by the set of configs they contain. Entries from older generations are stale.
+     */
+    private static final Map<ReplyKey, CachedReply> replyCache = new ConcurrentHashMap<>();
+    private static final int MAX_CACHED_REPLIES = 64;
+    private static final AtomicLong syncGeneration = new AtomicLong();
+    private static final Queue<Runnable> pendingClientTasks = new ConcurrentLinkedQueue<>();
+    /**
+     * Hash of the last sync reply that was fully applied on this client, 0 if none. Reset by any local config change.
+     */
+    private static volatile long lastAppliedPayload = 0;
+    private static volatile boolean initialized = false;
     private static Path configDir;
 
     public static void register(Class<?> configClass) throws ConfigException {
         init();
         if (!parsedConfigMap.containsKey(configClass)) {
             val parsedConfig = ParsedConfiguration.parseConfig(configClass);
-            configToClassMap.computeIfAbsent(parsedConfig.rawConfig, (ignored) -> new HashSet<>()).add(configClass);
+            configToClassMap.computeIfAbsent(parsedConfig.rawConfig, (ignored) -> ConcurrentHashMap.newKeySet()).add(configClass);
             parsedConfigMap.put(configClass, parsedConfig);
             serializedNames.put(parsedConfig.modid + "$" + parsedConfig.category, configClass);
-            modConfigs.computeIfAbsent(parsedConfig.modid, (x) -> new HashSet<>()).add(configClass);
+            modConfigs.computeIfAbsent(parsedConfig.modid, (x) -> ConcurrentHashMap.newKeySet()).add(configClass);
+        }
+    }
+
+    /**
+     * Initializes many config classes at once. The classes are grouped by the file they are stored in, every file is
+     * loaded only once, and the files are parsed and loaded in parallel. Classes with path migrations read other files
+     * while being parsed, so those are initialized on the calling thread after everything else.
+     * <p>
+     * Everything that can reach user code happens on the calling thread: static initializers of the config classes,
+     * the validation failure events (which are queued up by the loader threads), validation and the callback. The
+     * forge configurations are created on the calling thread too, since forge keeps track of them in shared maps.
+     * <p>
+     * If loading any of the files fails, the events of every file are still posted, and the first failure is thrown
+     * with the others attached as suppressed exceptions.
+     */
+    public static void initializeAll(BiConsumer<Class<?>, Field> validatorErrorCallback, Class<?>... configClasses)
+            throws ConfigException {
+        init();
+        val files = new LinkedHashMap<Path, List<Class<?>>>();
+        val sequential = new ArrayList<Class<?>>();
+        for (val configClass : new LinkedHashSet<>(Arrays.asList(configClasses))) {
+            val cfg = configClass.getAnnotation(Config.class);
+            if (cfg == null || cfg.pathMigrations().length > 0) {
+                sequential.add(configClass);
+                continue;
+            }
+            val file = resolveConfigFile(ParsedConfiguration.configPath(cfg), true);
+            files.computeIfAbsent(file, (ignored) -> new ArrayList<>()).add(configClass);
+        }
+        if (files.size() <= 1) {
+            for (val group : files.values()) {
+                initializeFile(group, validatorErrorCallback);
+            }
+        } else {
+            for (val group : files.values()) {
+                for (val configClass : group) {
+                    try {
+                        Class.forName(configClass.getName(), true, configClass.getClassLoader());
+                    } catch (ClassNotFoundException e) {
+                        throw new ConfigException(e);
+                    }
+                }
+                getForgeConfig(ParsedConfiguration.configPath(group.get(0).getAnnotation(Config.class)), true);
+            }
+            val threads = Math.min(files.size(), Runtime.getRuntime().availableProcessors());
+            val executor = Executors.newFixedThreadPool(threads, (task) -> {
+                val thread = new Thread(task, "Config Loader");
+                thread.setDaemon(true);
+                return thread;
+            });
+            try {
+                val tasks = new ArrayList<Future<LoadResult>>();
+                for (val group : files.values()) {
+                    tasks.add(executor.submit(() -> {
+                        EventUtil.deferOnThisThread();
+                        Throwable failure = null;
+                        try {
+                            loadFile(group);
+                        } catch (Throwable e) {
+                            failure = e;
+                        }
+                        return new LoadResult(EventUtil.stopDeferring(), failure);
+                    }));
+                }
+                Throwable failure = null;
+                int i = 0;
+                for (val group : files.values()) {
+                    LoadResult result;
+                    try {
+                        result = tasks.get(i++).get();
+                    } catch (ExecutionException e) {
+                        result = new LoadResult(Collections.emptyList(), e.getCause());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        val exception = new ConfigException(e);
+                        if (failure != null) {
+                            exception.addSuppressed(failure);
+                        }
+                        throw exception;
+                    }
+                    EventUtil.postAll(result.events());
+                    if (result.failure() != null) {
+                        if (failure == null) {
+                            failure = result.failure();
+                        } else {
+                            failure.addSuppressed(result.failure());
+                        }
+                    } else if (failure == null) {
+                        validateFile(group, validatorErrorCallback);
+                    }
+                }
+                if (failure instanceof ConfigException) {
+                    throw (ConfigException) failure;
+                } else if (failure instanceof RuntimeException) {
+                    throw (RuntimeException) failure;
+                } else if (failure instanceof Error) {
+                    throw (Error) failure;
+                } else if (failure != null) {
+                    throw new ConfigException(failure);
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+        for (val configClass : sequential) {
+            initializeFile(Collections.singletonList(configClass), validatorErrorCallback);
+        }
+    }
+
+    /**
+     * Registers, loads, validates and saves config classes that are all stored in the same file.
+     */
+    private static void initializeFile(List<Class<?>> configClasses, BiConsumer<Class<?>, Field> validatorErrorCallback)
+            throws ConfigException {
+        loadFile(configClasses);
+        validateFile(configClasses, validatorErrorCallback);
+    }
+
+    /**
+     * Registers and loads config classes that are all stored in the same file. The file is only loaded once.
+     */
+    private static void loadFile(List<Class<?>> configClasses) throws ConfigException {
+        for (val configClass : configClasses) {
+            register(configClass);
+        }
+        loadRawConfig(parsedConfigMap.get(configClasses.get(0)).rawConfig);
+        for (val configClass : configClasses) {
+            parsedConfigMap.get(configClass).loadFields();
+        }
+    }
+
+    private static void validateFile(List<Class<?>> configClasses, BiConsumer<Class<?>, Field> validatorErrorCallback) {
+        for (val configClass : configClasses) {
+            val parsed = parsedConfigMap.get(configClass);
+            parsed.validate(validatorErrorCallback, true);
+            parsed.saveFile();
         }
     }
 
@@ -106,16 +284,13 @@ public final class ConfigurationManagerImpl {
         return thePath;
     }
 
-    static @NotNull Configuration getForgeConfig(String pathSuffix, boolean create) throws ConfigException {
+    static @NotNull ManagedConfiguration getForgeConfig(String pathSuffix, boolean create) throws ConfigException {
         val thePath = resolveConfigFile(pathSuffix, create);
         if (thePath == null || !(create || Files.exists(thePath))) {
             throw new ConfigException(String.format("Could not find config file at %s", pathSuffix));
         }
-        return configs.computeIfAbsent(thePath, (ignored) -> {
-            val c = new Configuration(thePath.toFile());
-            c.load();
-            return c;
-        });
+        //The constructor already loads the file
+        return configs.computeIfAbsent(thePath, (ignored) -> new ManagedConfiguration(thePath.toFile()));
     }
 
     public static void load(Class<?> configClass) throws ConfigException {
@@ -132,6 +307,16 @@ public final class ConfigurationManagerImpl {
         parsedConfigMap.get(configClass).saveFile();
     }
 
+    /**
+     * Blocks until the pending changes of the file of the config are written to disk.
+     */
+    public static void flush(Class<?> configClass) throws ConfigException {
+        if (!parsedConfigMap.containsKey(configClass)) {
+            throw new ConfigException("Class " + configClass.getName() + " is not a registered configuration!");
+        }
+        ConfigWriteScheduler.flush(parsedConfigMap.get(configClass).rawConfig);
+    }
+
     public static boolean validateFields(BiConsumer<Class<?>, Field> invalidFieldHandler, Class<?> configClass, boolean resetInvalid)
             throws ConfigException {
         if (!parsedConfigMap.containsKey(configClass)) {
@@ -141,6 +326,52 @@ public final class ConfigurationManagerImpl {
         return parsed.validate(invalidFieldHandler, resetInvalid);
     }
 
+    public static ConfigSnapshot getSnapshot(Class<?> configClass) throws ConfigException {
+        val parsed = parsedConfigMap.get(configClass);
+        if (parsed == null) {
+            throw new ConfigException("Class " + configClass.getName() + " is not a registered configuration!");
+        }
+        if (!parsed.snapshots) {
+            throw new ConfigException("Class " + configClass.getName() + " does not publish snapshots!");
+        }
+        return parsed.snapshot();
+    }
+
+    public static Set<String> getStringSetView(Class<?> configClass, String fieldName) throws ConfigException {
+        val field = getListField(configClass, fieldName);
+        if (!(field instanceof StringListConfigField)) {
+            throw new ConfigException("Field " + fieldName + " in class " + configClass.getName() + " is not a String[] config field!");
+        }
+        return ((StringListConfigField) field).setView();
+    }
+
+    public static ConfigIntSet getIntSetView(Class<?> configClass, String fieldName) throws ConfigException {
+        val field = getListField(configClass, fieldName);
+        if (!(field instanceof IntListConfigField)) {
+            throw new ConfigException("Field " + fieldName + " in class " + configClass.getName() + " is not an int[] config field!");
+        }
+        return ((IntListConfigField) field).setView();
+    }
+
+    private static AConfigField<?> getListField(Class<?> configClass, String fieldName) throws ConfigException {
+        val parsed = parsedConfigMap.get(configClass);
+        if (parsed == null) {
+            throw new ConfigException("Class " + configClass.getName() + " is not a registered configuration!");
+        }
+        val field = parsed.fieldByJavaName(fieldName);
+        if (field == null) {
+            throw new ConfigException("Class " + configClass.getName() + " has no config field " + fieldName);
+        }
+        return field;
+    }
+
+    /**
+     * The request starts with the list of synchronized config names, which is all that older servers read. After that
+     * comes the protocol version, then the hash of our current values for each of the listed configs, so that the
+     * server can leave out the ones we already have, and then the schema hash of each of them, so that the server knows
+     * which ones it can send in the compact format. Last is the hash of the reply we have stored from this server, 0
+     * if we don't have one.
+     */
     public static void sendRequest(DataOutput output) throws IOException {
         val synced = new ArrayList<Class<?>>();
         val inv = serializedNames.inverse();
@@ -153,89 +384,342 @@ public final class ConfigurationManagerImpl {
         for (val clazz : synced) {
             output.writeUTF(inv.get(clazz));
         }
+        output.writeInt(SYNC_PROTOCOL_VERSION);
+        for (val clazz : synced) {
+            output.writeLong(parsedConfigMap.get(clazz).valueHash());
+        }
+        for (val clazz : synced) {
+            output.writeLong(parsedConfigMap.get(clazz).schemaHash());
+        }
+        output.writeLong(ClientSyncCache.storedHash());
     }
 
-    public static List<Class<?>> receiveRequest(DataInput input) throws IOException {
+    public static RequestedConfigs receiveRequest(DataInput input) throws IOException {
         val result = new ArrayList<Class<?>>();
+        val compact = new HashSet<Class<?>>();
         val count = input.readInt();
-        val requestedNames = new HashSet<String>();
+        val requestedNames = new ArrayList<String>(count);
         for (int i = 0; i < count; i++) {
             requestedNames.add(input.readUTF());
         }
-        for (val entry : serializedNames.keySet()) {
-            if (requestedNames.contains(entry)) {
-                result.add(serializedNames.get(entry));
+        val clientHashes = new HashMap<String, Long>();
+        val clientSchemas = new HashMap<String, Long>();
+        int protocolVersion;
+        try {
+            protocolVersion = input.readInt();
+        } catch (EOFException e) {
+            //Older clients don't send hashes
+            protocolVersion = 0;
+        }
+        if (protocolVersion >= 1) {
+            for (val name : requestedNames) {
+                clientHashes.put(name, input.readLong());
+            }
+        }
+        if (protocolVersion >= 2) {
+            for (val name : requestedNames) {
+                clientSchemas.put(name, input.readLong());
             }
         }
-        return result;
+        val storedPayload = protocolVersion >= 4 ? input.readLong() : 0;
+        val generation = syncGeneration.get();
+        for (val name : requestedNames) {
+            val clazz = serializedNames.get(name);
+            if (clazz == null) {
+                continue;
+            }
+            val config = parsedConfigMap.get(clazz);
+            val clientHash = clientHashes.get(name);
+            if (clientHash != null && clientHash == config.valueHash(generation)) {
+                continue;
+            }
+            result.add(clazz);
+            val clientSchema = clientSchemas.get(name);
+            if (clientSchema != null && clientSchema == config.schemaHash()) {
+                compact.add(clazz);
+            }
+        }
+        return new RequestedConfigs(result, compact, protocolVersion, storedPayload);
     }
 
-    public static void sendReply(DataOutput output, List<Class<?>> requestedClasses) throws IOException {
-        val syncEntries = new HashMap<>(parsedConfigMap);
+    /**
+     * Replies to clients on protocol version 2 or newer start with -1 (where older replies have the config count),
+     * followed by the protocol version. Every config then also carries a flag telling whether it's in the compact
+     * format. From version 3, the version is followed by the hash of the rest of the reply. From version 4, the config
+     * count can be -2 instead, see {@link #sendUnchangedReply(DataOutput, long)}.
+     * <p>
+     * Configs are written in the order of their names, so that the same configs always produce the same bytes.
+     *
+     * @return The hash of the configs in the reply.
+     */
+    public static long sendReply(DataOutput output, RequestedConfigs requested) throws IOException {
+        val inv = serializedNames.inverse();
+        val syncEntries = new TreeMap<String, ParsedConfiguration>();
         for (val entry : parsedConfigMap.entrySet()) {
-            if (!entry.getValue().sync || !requestedClasses.contains(entry.getKey())) {
-                syncEntries.remove(entry.getKey());
+            if (entry.getValue().sync && requested.classes().contains(entry.getKey())) {
+                syncEntries.put(inv.get(entry.getKey()), entry.getValue());
             }
         }
-        output.writeInt(syncEntries.size());
-        val inv = serializedNames.inverse();
+        val protocolVersion = Math.min(requested.protocolVersion(), SYNC_PROTOCOL_VERSION);
+        val versioned = protocolVersion >= 2;
+        val payload = new ByteArrayOutputStream();
+        val payloadOut = new DataOutputStream(payload);
+        payloadOut.writeInt(syncEntries.size());
         for (val entry : syncEntries.entrySet()) {
-            output.writeUTF(inv.get(entry.getKey()));
+            val config = entry.getValue();
+            payloadOut.writeUTF(entry.getKey());
+            val compact = versioned && requested.compact().contains(config.configClass);
+            if (versioned) {
+                payloadOut.writeBoolean(compact);
+            }
+            val start = System.nanoTime();
             val b = new ByteArrayOutputStream();
             val bo = new DataOutputStream(b);
-            entry.getValue().transmit(bo);
+            if (compact) {
+                config.transmitCompact(bo);
+            } else {
+                config.transmit(bo);
+            }
             bo.close();
             val bytes = b.toByteArray();
-            output.writeInt(bytes.length);
-            output.write(bytes);
+            payloadOut.writeInt(bytes.length);
+            payloadOut.write(bytes);
+            config.stats.syncSent.record(start, bytes.length);
+        }
+        payloadOut.close();
+        val hash = new HashOutputStream();
+        payload.writeTo(hash);
+        val payloadHash = hash.finish();
+        if (versioned) {
+            output.writeInt(-1);
+            output.writeInt(protocolVersion);
+            if (protocolVersion >= 3) {
+                output.writeLong(payloadHash);
+            }
+        }
+        if (output instanceof OutputStream) {
+            payload.writeTo((OutputStream) output);
+        } else {
+            output.write(payload.toByteArray());
         }
+        return payloadHash;
     }
 
-    public static void receiveReply(DataInput input) throws IOException {
-        if (AllConfigSyncEvent.postStart()) {
-            FPLog.LOG.warn("All config synchronization was cancelled by event.");
-            return;
+    /**
+     * Creates a ready to send sync reply. The compressed payload is shared between all requests that ask for the same
+     * configs in the same formats, until the config values are reloaded or changed through the config system.
+     * <p>
+     * If the client already has this exact reply stored, it only gets an "unchanged" reply.
+     */
+    public static SyncReply createReply(RequestedConfigs requested) throws IOException {
+        val protocolVersion = Math.min(requested.protocolVersion(), SYNC_PROTOCOL_VERSION);
+        val key = new ReplyKey(new HashSet<>(requested.classes()), requested.compact(), protocolVersion);
+        val generation = syncGeneration.get();
+        var cached = replyCache.get(key);
+        if (cached != null && cached.generation() == generation) {
+            ConfigStats.cachedReplies.increment();
+        } else {
+            val built = new SyncReply();
+            built.requested = requested;
+            built.transmit();
+            if (ConfigEngineConfig.CONFIG_SYNC_PAYLOAD_STORE && protocolVersion >= 3) {
+                val level = ConfigEngineConfig.CONFIG_SYNC_COMPRESSION_LEVEL;
+                val stored = SyncPayloadStore.get(built.payloadHash, protocolVersion, level);
+                if (stored != null) {
+                    built.compressed(stored);
+                } else {
+                    SyncPayloadStore.share(built.payloadHash, protocolVersion, level, built.compressed());
+                }
+            }
+            cached = new CachedReply(generation, built.payloadHash, built.compressed());
+            if (replyCache.size() >= MAX_CACHED_REPLIES) {
+                replyCache.clear();
+            }
+            replyCache.put(key, cached);
+        }
+        val reply = new SyncReply();
+        reply.payloadHash = cached.payloadHash();
+        if (protocolVersion >= 4 && requested.storedPayload() != 0 && requested.storedPayload() == cached.payloadHash()) {
+            reply.unchanged = true;
+            reply.transmit();
+        } else {
+            reply.compressed(cached.compressed());
+        }
+        return reply;
+    }
+
+    /**
+     * Tells the client that the reply it has stored from this server is still up to date, so it can apply that one
+     * instead.
+     */
+    public static void sendUnchangedReply(DataOutput output, long payloadHash) throws IOException {
+        output.writeInt(-1);
+        output.writeInt(SYNC_PROTOCOL_VERSION);
+        output.writeLong(payloadHash);
+        output.writeInt(UNCHANGED_REPLY);
+    }
+
+    static void invalidateSyncCache() {
+        syncGeneration.incrementAndGet();
+        replyCache.clear();
+        for (val config : parsedConfigMap.values()) {
+            config.forgetValueHash();
         }
+        SyncPayloadStore.refresh();
+        lastAppliedPayload = 0;
+    }
+
+    /**
+     * Decodes a sync reply without applying anything. Safe to call off the main thread.
+     *
+     * @return A task that posts the sync events and writes the received values into the config fields. Must be run
+     * on the client thread, see {@link #scheduleClientTask(Runnable)}. Null if the server replied that our stored
+     * reply is still up to date, see {@link #applyStoredReply(long)}.
+     */
+    public static @Nullable Runnable decodeReply(DataInput input, SyncReply reply) throws IOException {
         int count = input.readInt();
+        int protocolVersion = 0;
+        long payloadHash = 0;
+        if (count == -1) {
+            protocolVersion = input.readInt();
+            if (protocolVersion >= 3) {
+                payloadHash = input.readLong();
+            }
+            count = input.readInt();
+        }
+        reply.payloadHash = payloadHash;
+        if (count == UNCHANGED_REPLY) {
+            reply.unchanged = true;
+            return null;
+        }
+        val hash = payloadHash;
+        if (hash != 0 && hash == lastAppliedPayload) {
+            FPLog.LOG.debug("Skipping config sync reply, its contents were already applied");
+            return () -> applyReply(Collections.emptyList(), hash, null);
+        }
+        //Replies with nothing in them aren't worth storing, they'd only replace a useful one
+        val store = hash != 0 && count > 0 && !reply.fromStore ? reply.compressed() : null;
+        val staged = new ArrayList<StagedSync>(Math.max(count, 0));
         for (int i = 0; i < count; i++) {
             String serializedName = input.readUTF();
+            val compact = protocolVersion >= 2 && input.readBoolean();
             int dataSize = input.readInt();
-            val opt = serializedNames.keySet().stream().filter((key) -> key.equals(serializedName)).findFirst();
-            if (!opt.isPresent()) {
-                input.skipBytes(dataSize);
+            val bytes = new byte[dataSize];
+            input.readFully(bytes);
+            val clazz = serializedNames.get(serializedName);
+            if (clazz == null) {
                 FPLog.LOG.warn("Server tried to sync config not registered on our side: " + serializedName);
                 continue;
             }
-            val clazz = serializedNames.get(opt.get());
             val config = parsedConfigMap.get(clazz);
             if (!config.sync) {
-                input.skipBytes(dataSize);
                 FPLog.LOG.warn("Server tried to sync config without @Synchronize annotation on our side: "
                                + serializedName);
                 continue;
             }
+            val start = System.nanoTime();
+            try (val bi = new DataInputStream(new ByteArrayInputStream(bytes))) {
+                staged.add(new StagedSync(serializedName, config, config.stageReceive(bi, compact), null));
+                config.stats.syncReceived.record(start, dataSize);
+            } catch (Throwable e) {
+                staged.add(new StagedSync(serializedName, config, null, e));
+            }
+        }
+        return () -> applyReply(staged, hash, store);
+    }
+
+    /**
+     * Decodes the reply we stored the last time we were connected to this server.
+     *
+     * @return A task that applies it, see {@link #decodeReply(DataInput, SyncReply)}.
+     */
+    public static Runnable applyStoredReply(long payloadHash) throws IOException {
+        val compressed = ClientSyncCache.load(payloadHash);
+        if (compressed == null) {
+            //Deleted since the request was sent, ask again without it
+            FPLog.LOG.warn("Stored config sync reply is missing, requesting a full one");
+            ClientSyncCache.forget();
+            return () -> {
+                try {
+                    sendSyncRequest();
+                } catch (IOException e) {
+                    FPLog.LOG.error("Failed to request config sync", e);
+                }
+            };
+        }
+        val stored = new SyncReply();
+        stored.fromStore = true;
+        stored.compressed(compressed);
+        stored.receive();
+        if (stored.apply == null) {
+            throw new IOException("Stored config sync reply is invalid");
+        }
+        return stored.apply;
+    }
+
+    /**
+     * Sets the server whose stored sync reply is used. Null when connecting to a local server.
+     */
+    public static void setSyncServer(@Nullable String address) {
+        ClientSyncCache.setServer(address);
+    }
+
+    private static void applyReply(List<StagedSync> staged, long payloadHash, byte[] store) {
+        if (AllConfigSyncEvent.postStart()) {
+            FPLog.LOG.warn("All config synchronization was cancelled by event.");
+            return;
+        }
+        boolean complete = true;
+        for (val sync : staged) {
+            val clazz = sync.config().configClass;
             if (ConfigSyncEvent.postStart(clazz)) {
-                input.skipBytes(dataSize);
-                FPLog.LOG.warn("Config synchronization was cancelled by event for: " + serializedName);
+                FPLog.LOG.warn("Config synchronization was cancelled by event for: " + sync.serializedName());
+                complete = false;
+                continue;
+            }
+            if (sync.error() != null) {
+                ConfigSyncEvent.postEndFailure(clazz, sync.error());
+                complete = false;
                 continue;
             }
-            val bytes = new byte[dataSize];
-            input.readFully(bytes);
-            val b = new ByteArrayInputStream(bytes);
-            val bi = new DataInputStream(b);
             try {
-                config.receive(bi);
-                config.validate((x, y) -> {}, true);
+                val start = System.nanoTime();
+                sync.apply().run();
+                sync.config().stats.syncApplied.record(start);
+                sync.config().validate((x, y) -> {}, true);
+                sync.config().publishSnapshot();
                 ConfigSyncEvent.postEndSuccess(clazz);
             } catch (Throwable e) {
                 ConfigSyncEvent.postEndFailure(clazz, e);
+                complete = false;
+            }
+        }
+        if (complete) {
+            lastAppliedPayload = payloadHash;
+            if (store != null) {
+                ClientSyncCache.store(payloadHash, store);
             }
-            bi.close();
         }
         AllConfigSyncEvent.postEnd();
     }
 
-    public static void loadRawConfig(Configuration rawConfig) throws ConfigException {
+    public static void scheduleClientTask(Runnable task) {
+        pendingClientTasks.add(task);
+    }
+
+    /**
+     * Runs the sync tasks queued up by the network handlers. Called at the start of every client tick.
+     */
+    public static void runClientTasks() {
+        Runnable task;
+        while ((task = pendingClientTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    public static void loadRawConfig(ManagedConfiguration rawConfig) throws ConfigException {
+        invalidateSyncCache();
+        ConfigWriteScheduler.beforeLoad(rawConfig);
         rawConfig.load();
         for (val configClass : configToClassMap.get(rawConfig)) {
             val config = parsedConfigMap.get(configClass);
@@ -247,6 +731,41 @@ public final class ConfigurationManagerImpl {
         }
     }
 
+    /**
+     * Reloads every config stored in the given file.
+     *
+     * @return Whether any of them is synchronized to clients.
+     */
+    static boolean reloadConfigFile(Path file) throws ConfigException {
+        val rawConfig = configs.get(file);
+        if (rawConfig == null || !configToClassMap.containsKey(rawConfig)) {
+            return false;
+        }
+        loadRawConfig(rawConfig);
+        boolean sync = false;
+        for (val configClass : configToClassMap.get(rawConfig)) {
+            sync |= parsedConfigMap.get(configClass).sync;
+        }
+        return sync;
+    }
+
+    static boolean isChangedOnDisk(Path file) {
+        val rawConfig = configs.get(file);
+        return rawConfig != null && !rawConfig.isUnchangedOnDisk();
+    }
+
+    public static void startFileWatcher() {
+        ConfigFileWatcher.start(new HashSet<>(configs.keySet()));
+    }
+
+    public static void startSyncPayloadStore() {
+        SyncPayloadStore.start();
+    }
+
+    public static void stopFileWatcher() {
+        ConfigFileWatcher.stop();
+    }
+
     @SuppressWarnings({"rawtypes"})
     public static List<IConfigElement> getConfigElements(Class<?> configClass) throws ConfigException {
         if (!parsedConfigMap.containsKey(configClass)) {
@@ -285,6 +804,39 @@ public final class ConfigurationManagerImpl {
         FalsePatternLib.NETWORK.sendToServer(event);
     }
 
+    /**
+     * @return A human-readable summary of the config stats, slowest configs first.
+     */
+    public static List<String> statsReport() {
+        val configs = new ArrayList<>(parsedConfigMap.values());
+        configs.sort(Comparator.comparingLong((ParsedConfiguration config) -> config.stats.totalNanos()).reversed());
+        val report = new ArrayList<String>();
+        report.add("Sync replies served from cache: " + ConfigStats.cachedReplies.sum());
+        for (val config : configs) {
+            val stats = config.stats;
+            report.add(config.modid + "$" + config.category + " (" + config.configClass.getName() + "):");
+            report.add("  reload " + stats.reloads + ", load " + stats.loads + ", save " + stats.saves);
+            report.add("  validate " + stats.validations + ", failures " + stats.validationFailures());
+            if (config.sync) {
+                report.add("  sync sent " + stats.syncSent + ", received " + stats.syncReceived + ", applied " + stats.syncApplied);
+            }
+            for (val failures : stats.fieldFailures().entrySet()) {
+                val count = failures.getValue().sum();
+                if (count > 0) {
+                    report.add("  field " + failures.getKey() + " failed validation " + count + " times");
+                }
+            }
+        }
+        return report;
+    }
+
+    public static void resetStats() {
+        ConfigStats.cachedReplies.reset();
+        for (val config : parsedConfigMap.values()) {
+            config.stats.reset();
+        }
+    }
+
     public static void onConfigChanged(ConfigChangedEvent.OnConfigChangedEvent event) {
         init();
         val configs = modConfigs.get(event.modID);
@@ -292,5 +844,18 @@ public final class ConfigurationManagerImpl {
             return;
         }
         configs.stream().map(parsedConfigMap::get).distinct().forEach(ParsedConfiguration::configChanged);
+        invalidateSyncCache();
     }
+
+    private record ReplyKey(Set<Class<?>> classes, Set<Class<?>> compact, int protocolVersion) {}
+
+    private record StagedSync(String serializedName, ParsedConfiguration config, Runnable apply, Throwable error) {}
+
+    private record CachedReply(long generation, long payloadHash, byte[] compressed) {}
+
+    /**
+     * @param events  The events posted while loading, deferred to the calling thread.
+     * @param failure What loading threw, null if it succeeded.
+     */
+    private record LoadResult(List<Event> events, @Nullable Throwable failure) {}
 }
@@ -0,0 +1,101 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config;
+
+import com.falsepattern.lib.config.Config;
+import com.falsepattern.lib.internal.impl.config.access.FieldAccessor;
+import com.falsepattern.lib.internal.impl.config.access.FieldAccessors;
+import lombok.val;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The annotation metadata of a single config field, see {@link ConfigSchema}.
+ *
+ * @param name       The name of the property, from {@link Config.Name} or the field name.
+ * @param migrations Old property names to migrate from, in order of preference. Empty without {@link Config.Name}.
+ * @param comment    The lines of {@link Config.Comment} joined together, empty if there is none.
+ * @param langKey    The raw value of {@link Config.LangKey}, null if there is none.
+ * @param order      The declaration order from {@link DeclOrderInternal}, -1 if unknown.
+ * @param pattern    The compiled {@link Config.Pattern}, null if there is none.
+ * @param validation What already passed validation. The only part of the schema that changes.
+ */
+public record FieldSchema(
+        Field field,
+        FieldAccessor accessor,
+        String name,
+        List<String> migrations,
+        String comment,
+        @Nullable String langKey,
+        boolean noSync,
+        boolean requiresWorldRestart,
+        boolean requiresMcRestart,
+        int order,
+        @Nullable Pattern pattern,
+        ValidationCache validation,
+        Map<Class<? extends Annotation>, Annotation> annotations
+) {
+    static FieldSchema parse(Field field) {
+        field.setAccessible(true);
+        val annotations = new HashMap<Class<? extends Annotation>, Annotation>();
+        for (val annotation : field.getDeclaredAnnotations()) {
+            annotations.put(annotation.annotationType(), annotation);
+        }
+        val nameAnnotation = (Config.Name) annotations.get(Config.Name.class);
+        val name = nameAnnotation != null ? nameAnnotation.value() : field.getName();
+        val migrations = new ArrayList<String>();
+        if (nameAnnotation != null) {
+            for (val migration : nameAnnotation.migrations()) {
+                migrations.add(migration.isEmpty() ? field.getName() : migration);
+            }
+        }
+        val commentAnnotation = (Config.Comment) annotations.get(Config.Comment.class);
+        val langKeyAnnotation = (Config.LangKey) annotations.get(Config.LangKey.class);
+        val orderAnnotation = (DeclOrderInternal) annotations.get(DeclOrderInternal.class);
+        val patternAnnotation = (Config.Pattern) annotations.get(Config.Pattern.class);
+        return new FieldSchema(field,
+                               FieldAccessors.of(field),
+                               name,
+                               Collections.unmodifiableList(migrations),
+                               commentAnnotation != null ? String.join("\n", commentAnnotation.value()) : "",
+                               langKeyAnnotation != null ? langKeyAnnotation.value() : null,
+                               annotations.containsKey(Config.NoSync.class),
+                               annotations.containsKey(Config.RequiresWorldRestart.class),
+                               annotations.containsKey(Config.RequiresMcRestart.class),
+                               orderAnnotation != null ? orderAnnotation.value() : -1,
+                               patternAnnotation != null ? Pattern.compile(patternAnnotation.value()) : null,
+                               new ValidationCache(),
+                               Collections.unmodifiableMap(annotations));
+    }
+
+    public <A extends Annotation> @Nullable A annotation(Class<A> type) {
+        return type.cast(annotations.get(type));
+    }
+}
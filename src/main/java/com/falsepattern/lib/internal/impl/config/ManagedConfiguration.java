@@ -0,0 +1,130 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config;
+
+import com.falsepattern.lib.internal.FPLog;
+import com.falsepattern.lib.internal.ReflectionUtil;
+import lombok.SneakyThrows;
+import lombok.val;
+
+import cpw.mods.fml.relauncher.ReflectionHelper;
+import net.minecraftforge.common.config.Configuration;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+
+/**
+ * A forge configuration that is saved atomically (through a temporary file), and that remembers the state of its file
+ * on disk as of its last load or save.
+ * <p>
+ * Saves are normally requested through {@link ConfigWriteScheduler} instead of calling {@link #save()} directly.
+ * <p>
+ * If enabled, a binary copy of the file is kept as well, see {@link BinaryConfigStore}.
+ */
+public final class ManagedConfiguration extends Configuration {
+    /**
+     * Forge's save() always writes to this file, it's pointed at the temporary file while saving.
+     */
+    private static final Field FILE = ReflectionHelper.findField(Configuration.class, "file");
+
+    static {
+        ReflectionUtil.jailBreak(FILE);
+    }
+
+    //Not initialized on purpose: the super constructor already calls load(), which sets this.
+    private volatile FileStamp knownStamp;
+
+    public ManagedConfiguration(File file) {
+        super(file);
+    }
+
+    @Override
+    public synchronized void load() {
+        val file = getConfigFile().toPath();
+        if (!BinaryConfigStore.load(this, file)) {
+            super.load();
+            BinaryConfigStore.save(this, file);
+        }
+        knownStamp = FileStamp.of(file);
+    }
+
+    /**
+     * Saves right away, through a temporary file so that a failure can't leave a half-written file behind. Configs
+     * that are part of Forge's global config are saved through it, like in Forge.
+     * <p>
+     * The file is rendered while holding the lock of this configuration, so it's never a mix of old and new values.
+     */
+    @Override
+    public synchronized void save() {
+        if (isChild) {
+            super.save();
+            return;
+        }
+        val target = getConfigFile();
+        val targetPath = target.toPath();
+        try {
+            val temp = targetPath.resolveSibling(targetPath.getFileName() + ".tmp");
+            Files.deleteIfExists(temp);
+            setFile(temp.toFile());
+            try {
+                super.save();
+            } finally {
+                setFile(target);
+            }
+            //Forge only prints its own errors
+            if (!Files.exists(temp)) {
+                throw new IOException("Could not write " + temp);
+            }
+            move(temp, targetPath);
+            knownStamp = FileStamp.of(targetPath);
+            BinaryConfigStore.save(this, targetPath);
+        } catch (IOException e) {
+            FPLog.LOG.error("Failed to save config file " + targetPath, e);
+        }
+    }
+
+    /**
+     * @return True if the file on disk is still the way this configuration last loaded or saved it.
+     */
+    public boolean isUnchangedOnDisk() {
+        return Objects.equals(FileStamp.of(getConfigFile().toPath()), knownStamp);
+    }
+
+    @SneakyThrows
+    private void setFile(File file) {
+        FILE.set(this, file);
+    }
+
+    private static void move(Path from, Path to) throws IOException {
+        try {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -23,6 +23,7 @@ package com.falsepattern.lib.internal.impl.config;
 
 import com.falsepattern.lib.config.Config;
 import com.falsepattern.lib.config.ConfigException;
+import com.falsepattern.lib.config.ConfigSnapshot;
 import com.falsepattern.lib.internal.impl.config.fields.AConfigField;
 import com.falsepattern.lib.internal.impl.config.fields.BooleanConfigField;
 import com.falsepattern.lib.internal.impl.config.fields.BooleanListConfigField;
@@ -36,15 +37,15 @@ import com.falsepattern.lib.internal.impl.config.fields.StringListConfigField;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.val;
+import org.jetbrains.annotations.Nullable;
 
-import net.minecraftforge.common.config.Configuration;
 import cpw.mods.fml.client.config.IConfigElement;
 
 import java.io.DataInput;
 import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
@@ -80,11 +81,30 @@ public class ParsedConfiguration {
     public final String category;
     public final String comment;
     public final String langKey;
-    public final Configuration rawConfig;
+    public final ManagedConfiguration rawConfig;
     public final boolean sync;
+    public final boolean snapshots;
+    public final ConfigStats stats = new ConfigStats();
     private final Map<String, AConfigField<?>> fields = new HashMap<>();
     private final Map<String, IConfigElement<?>> elements = new HashMap<>();
     private int maxFieldNameLength;
+    /**
+     * Synchronized fields sorted by name. This is the field order of the compact sync format.
+     */
+    private AConfigField<?>[] syncFields = new AConfigField<?>[0];
+    private long schemaHash;
+    private volatile ValueHash cachedValueHash;
+    private volatile ConfigSnapshot snapshot;
+    private long snapshotVersion;
+
+    /**
+     * @return The config file path of the given config, relative to the config directory.
+     */
+    static String configPath(Config cfg) {
+        return Optional.of(cfg.customPath().trim())
+                       .map(p -> p.isEmpty() ? null : p)
+                       .orElse(cfg.modid());
+    }
 
     public static ParsedConfiguration parseConfig(Class<?> configClass) throws ConfigException {
         val cfg = Optional.ofNullable(configClass.getAnnotation(Config.class))
@@ -104,10 +124,7 @@ public class ParsedConfiguration {
                               .map(Config.LangKey::value)
                               .map(x -> x.isEmpty() ? "config." + cfg.modid() + "." + category : x)
                               .orElse(category);
-        val path = Optional.of(cfg.customPath().trim())
-                           .map(p -> p.isEmpty() ? null : p)
-                           .orElse(cfg.modid());
-        val rawConfig = ConfigurationManagerImpl.getForgeConfig(path, true);
+        val rawConfig = ConfigurationManagerImpl.getForgeConfig(configPath(cfg), true);
         if (!rawConfig.hasCategory(category)) {
             // Process migrations
             migrate:
@@ -126,12 +143,13 @@ public class ParsedConfiguration {
                                 for (val entry : entries) {
                                     newCat.put(entry, oldCat.get(entry));
                                 }
-                                rawConfig.save();
+                                ConfigWriteScheduler.markDirty(rawConfig);
                                 oldConfig.removeCategory(oldConfig.getCategory(category));
                                 if (oldConfig.getCategoryNames().isEmpty()) {
+                                    ConfigWriteScheduler.discard(oldConfig);
                                     oldConfig.getConfigFile().delete();
                                 } else {
-                                    oldConfig.save();
+                                    ConfigWriteScheduler.markDirty(oldConfig);
                                 }
                                 break migrate;
                             }
@@ -163,7 +181,8 @@ public class ParsedConfiguration {
                                                    comment,
                                                    langKey,
                                                    rawConfig,
-                                                   configClass.isAnnotationPresent(Config.Synchronize.class));
+                                                   configClass.isAnnotationPresent(Config.Synchronize.class),
+                                                   configClass.isAnnotationPresent(Config.PublishSnapshots.class));
         try {
             parsedConfig.reloadFields();
         } catch (IllegalAccessException e) {
@@ -173,8 +192,14 @@ public class ParsedConfiguration {
     }
 
     public void saveFile() {
-        saveFields();
-        rawConfig.save();
+        synchronized (rawConfig) {
+            val start = System.nanoTime();
+            saveFields();
+            stats.saves.record(start);
+            publishSnapshot();
+            ConfigurationManagerImpl.invalidateSyncCache();
+            ConfigWriteScheduler.markDirty(rawConfig);
+        }
     }
 
     public void saveFields() {
@@ -185,10 +210,13 @@ public class ParsedConfiguration {
 
     //Happens when changed through the gui
     public void configChanged() {
-        for (val field : fields.values()) {
-            field.load();
+        synchronized (rawConfig) {
+            for (val field : fields.values()) {
+                field.load();
+            }
+            publishSnapshot();
+            ConfigWriteScheduler.markDirty(rawConfig);
         }
-        rawConfig.save();
     }
 
     public void loadFile() throws ConfigException {
@@ -197,31 +225,145 @@ public class ParsedConfiguration {
     }
 
     public void loadFields() {
+        synchronized (rawConfig) {
+            val start = System.nanoTime();
+            for (val field : fields.values()) {
+                field.load();
+            }
+            stats.loads.record(start);
+            publishSnapshot();
+        }
+    }
+
+    /**
+     * Replaces the published snapshot with the current field values. Does nothing if snapshots are not enabled for
+     * this config.
+     */
+    public synchronized void publishSnapshot() {
+        if (!snapshots) {
+            return;
+        }
+        val values = new HashMap<String, Object>();
         for (val field : fields.values()) {
-            field.load();
+            values.put(field.getJavaField().getName(), field.snapshotValue());
         }
+        snapshot = new ConfigSnapshot(configClass, ++snapshotVersion, values);
     }
 
-    public void receive(DataInput input) throws IOException {
-        if (sync) {
-            val syncFields = new HashMap<>(fields);
-            for (val key : fields.keySet()) {
-                if (syncFields.get(key).noSync) {
-                    syncFields.remove(key);
-                }
+    public @Nullable AConfigField<?> fieldByJavaName(String fieldName) {
+        for (val field : fields.values()) {
+            if (field.getJavaField().getName().equals(fieldName)) {
+                return field;
             }
-            while (!syncFields.isEmpty()) {
+        }
+        return null;
+    }
+
+    public ConfigSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Reads synchronized values without applying them. The returned task writes all of them into the fields at once.
+     *
+     * @param compact Whether the values are in the compact format. See {@link #schemaHash()}.
+     */
+    public Runnable stageReceive(DataInput input, boolean compact) throws IOException {
+        val staged = new ArrayList<Runnable>();
+        if (compact) {
+            for (val field : syncFields) {
+                staged.add(field.stage(input, true));
+            }
+        } else if (sync) {
+            val remaining = new HashMap<String, AConfigField<?>>();
+            for (val field : syncFields) {
+                remaining.put(field.name, field);
+            }
+            while (!remaining.isEmpty()) {
                 val fieldName =
                         StringConfigField.receiveString(input, maxFieldNameLength, "field name", configClass.getName());
-                if (!syncFields.containsKey(fieldName)) {
+                if (!remaining.containsKey(fieldName)) {
                     throw new IOException("Invalid sync field name received: "
                                           + fieldName
                                           + " for config class "
                                           + configClass.getName());
                 }
-                syncFields.remove(fieldName).receive(input);
+                staged.add(remaining.remove(fieldName).stage(input, false));
             }
         }
+        return () -> {
+            for (val task : staged) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * @return A hash of the current values of all synchronized fields, independent of field iteration order.
+     */
+    public long valueHash() throws IOException {
+        val hash = new HashOutputStream();
+        val output = new DataOutputStream(hash);
+        for (val field : syncFields) {
+            output.writeUTF(field.name);
+            field.transmit(output);
+        }
+        output.flush();
+        return hash.finish();
+    }
+
+    /**
+     * Same as {@link #valueHash()}, but only computed once per sync generation, since every joining client asks for
+     * it.
+     */
+    public long valueHash(long generation) throws IOException {
+        val cached = cachedValueHash;
+        if (cached != null && cached.generation() == generation) {
+            return cached.hash();
+        }
+        val hash = valueHash();
+        cachedValueHash = new ValueHash(generation, hash);
+        return hash;
+    }
+
+    void forgetValueHash() {
+        cachedValueHash = null;
+    }
+
+    /**
+     * @return A hash of the names and types of the synchronized fields. If both sides have the same schema hash, the
+     * compact sync format can be used.
+     */
+    public long schemaHash() {
+        return schemaHash;
+    }
+
+    public void transmitCompact(DataOutput output) throws IOException {
+        for (val field : syncFields) {
+            field.transmitCompact(output);
+        }
+    }
+
+    private void updateSyncSchema() throws IOException {
+        if (!sync) {
+            syncFields = new AConfigField<?>[0];
+            schemaHash = 0;
+            return;
+        }
+        syncFields = fields.values()
+                           .stream()
+                           .filter((field) -> !field.noSync)
+                           .sorted(Comparator.comparing((AConfigField<?> field) -> field.name))
+                           .toArray(AConfigField<?>[]::new);
+        val hash = new HashOutputStream();
+        val output = new DataOutputStream(hash);
+        output.writeInt(syncFields.length);
+        for (val field : syncFields) {
+            output.writeUTF(field.name);
+            field.writeSchema(output);
+        }
+        output.flush();
+        schemaHash = hash.finish();
     }
 
     public void transmit(DataOutput output) throws IOException {
@@ -240,71 +382,75 @@ public class ParsedConfiguration {
     }
 
     public void reloadFields() throws ConfigException, IllegalAccessException {
-        fields.clear();
-        maxFieldNameLength = 0;
-        val cat = rawConfig.getCategory(category);
-        if (configClass.isAnnotationPresent(Config.RequiresWorldRestart.class)) {
-            cat.setRequiresWorldRestart(true);
-        }
-        if (configClass.isAssignableFrom(Config.RequiresMcRestart.class)) {
-            cat.setRequiresMcRestart(true);
-        }
-        val nonFoundKeys = new HashSet<>(rawConfig.getCategory(category).keySet());
-        for (val field : configClass.getDeclaredFields()) {
-            if (field.getAnnotation(Config.Ignore.class) != null || (field.getModifiers() & Modifier.FINAL) != 0) {
-                continue;
+        synchronized (rawConfig) {
+            val start = System.nanoTime();
+            fields.clear();
+            maxFieldNameLength = 0;
+            val cat = rawConfig.getCategory(category);
+            if (configClass.isAnnotationPresent(Config.RequiresWorldRestart.class)) {
+                cat.setRequiresWorldRestart(true);
             }
-            field.setAccessible(true);
-            maxFieldNameLength = Math.max(maxFieldNameLength, field.getName().length());
-            val fieldClass = field.getType();
-            val nameAnnotation = Optional.ofNullable(field.getAnnotation(Config.Name.class));
-            val name = nameAnnotation.map(Config.Name::value)
-                                     .orElse(field.getName());
-            if (!cat.containsKey(name) && nameAnnotation.isPresent()) {
-                val migrations = nameAnnotation.get().migrations();
-                for (var migration: migrations) {
-                    if (migration.isEmpty()) {
-                        migration = field.getName();
-                    }
-                    if (cat.containsKey(migration)) {
-                        val prop = cat.remove(migration);
-                        prop.setName(name);
-                        cat.put(name, prop);
-                        nonFoundKeys.remove(migration);
-                        break;
+            if (configClass.isAssignableFrom(Config.RequiresMcRestart.class)) {
+                cat.setRequiresMcRestart(true);
+            }
+            val nonFoundKeys = new HashSet<>(rawConfig.getCategory(category).keySet());
+            for (val fieldSchema : ConfigSchema.of(configClass).fields()) {
+                val field = fieldSchema.field();
+                maxFieldNameLength = Math.max(maxFieldNameLength, field.getName().length());
+                val fieldClass = field.getType();
+                val name = fieldSchema.name();
+                if (!cat.containsKey(name)) {
+                    for (val migration : fieldSchema.migrations()) {
+                        if (cat.containsKey(migration)) {
+                            val prop = cat.remove(migration);
+                            prop.setName(name);
+                            cat.put(name, prop);
+                            nonFoundKeys.remove(migration);
+                            break;
+                        }
                     }
+                } else {
+                    nonFoundKeys.remove(name);
                 }
-            } else {
-                nonFoundKeys.remove(name);
+                AConfigField<?> configField;
+                val params = new ConfigFieldParameters(fieldSchema,
+                                                       rawConfig,
+                                                       modid,
+                                                       category,
+                                                       stats.fieldFailures(name));
+                if (constructors.containsKey(fieldClass)) {
+                    fields.put(name, configField = constructors.get(fieldClass).construct(params));
+                } else if (fieldClass.isEnum()) {
+                    fields.put(name, configField = new EnumConfigField<>(params));
+                } else {
+                    throw new ConfigException("Illegal config field: "
+                                              + field.getName()
+                                              + " in "
+                                              + configClass.getName()
+                                              + ": Unsupported type "
+                                              + fieldClass.getName()
+                                              + "! Did you forget an @Ignore annotation?");
+                }
+                configField.init();
+                elements.computeIfAbsent(name, (name2) -> new ConfigElementProxy<>(configField::getProperty, configField.getComment(), () -> {
+                    configField.load();
+                    configField.save();
+                }));
             }
-            AConfigField<?> configField;
-            val params = new ConfigFieldParameters(field, rawConfig, modid, category);
-            if (constructors.containsKey(fieldClass)) {
-                fields.put(name, configField = constructors.get(fieldClass).construct(params));
-            } else if (fieldClass.isEnum()) {
-                fields.put(name, configField = new EnumConfigField<>(params));
-            } else {
-                throw new ConfigException("Illegal config field: "
-                                          + field.getName()
-                                          + " in "
-                                          + configClass.getName()
-                                          + ": Unsupported type "
-                                          + fieldClass.getName()
-                                          + "! Did you forget an @Ignore annotation?");
+            val rawCategory = rawConfig.getCategory(category);
+            for (val key : nonFoundKeys) {
+                rawCategory.remove(key);
             }
-            configField.init();
-            elements.computeIfAbsent(name, (name2) -> new ConfigElementProxy<>(configField::getProperty, configField.getComment(), () -> {
-                configField.load();
-                configField.save();
-            }));
-        }
-        val rawCategory = rawConfig.getCategory(category);
-        for (val key : nonFoundKeys) {
-            rawCategory.remove(key);
+            try {
+                updateSyncSchema();
+            } catch (IOException e) {
+                throw new ConfigException(e);
+            }
+            stats.reloads.record(start);
+            saveFile();
+            rawConfig.setCategoryPropertyOrder(category,
+                                               fieldsSorted().map((prop) -> prop.name).collect(Collectors.toList()));
         }
-        saveFile();
-        rawConfig.setCategoryPropertyOrder(category,
-                                           fieldsSorted().map((prop) -> prop.name).collect(Collectors.toList()));
     }
 
     private Stream<AConfigField<?>> fieldsSorted() {
@@ -325,19 +471,28 @@ public class ParsedConfiguration {
     }
 
     public boolean validate(BiConsumer<Class<?>, Field> invalidFieldHandler, boolean resetInvalid) {
+        val start = System.nanoTime();
         boolean valid = true;
         for (val field : fields.values()) {
-            if (!field.validateField()) {
+            if (!field.validate()) {
                 if (resetInvalid) {
-                    field.setToDefault();
+                    synchronized (rawConfig) {
+                        field.setToDefault();
+                    }
                 }
                 invalidFieldHandler.accept(configClass, field.getJavaField());
                 valid = false;
             }
         }
+        stats.validations.record(start);
+        if (!valid && resetInvalid) {
+            publishSnapshot();
+        }
         return valid;
     }
 
+    private record ValueHash(long generation, long hash) {}
+
     private interface FieldRefConstructor {
         AConfigField<?> construct(ConfigFieldParameters params) throws ConfigException;
     }
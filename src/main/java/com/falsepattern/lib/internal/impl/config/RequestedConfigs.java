@@ -0,0 +1,36 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What a client asked for in a sync request.
+ *
+ * @param classes         The configs that need to be sent.
+ * @param compact         The subset of those configs whose schema matches on both sides, and can be sent in the
+ *                        compact format.
+ * @param protocolVersion The sync protocol version of the client. 0 for clients that predate versioning.
+ * @param storedPayload   The payload hash of the last reply from this server that the client has stored, 0 if none.
+ */
+public record RequestedConfigs(List<Class<?>> classes, Set<Class<?>> compact, int protocolVersion, long storedPayload) {}
@@ -0,0 +1,254 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config;
+
+import com.falsepattern.lib.internal.FPLog;
+import com.falsepattern.lib.internal.Tags;
+import com.falsepattern.lib.util.FileUtil;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.val;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compressed sync payloads stored on disk, named by the hash of their contents. Servers that share the directory and
+ * have the same configs reuse each other's payloads, and only the first one has to compress it.
+ * <p>
+ * The network thread never touches the disk: it only looks at the payloads held in memory. Reading, checking, writing
+ * and pruning the directory all happen on a background thread. Payloads written by other servers are picked up once
+ * per sync generation, and are only used if they decompress to a reply that matches the hash in their name, so a
+ * broken or foreign file can't end up on the wire.
+ * <p>
+ * Only replies that carry their own hash (protocol version 3 and newer) are stored.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class SyncPayloadStore {
+    /**
+     * Payloads that weren't used by any server for this long get deleted. Payloads held in memory count as used.
+     */
+    private static final long MAX_AGE_MILLIS = TimeUnit.DAYS.toMillis(7);
+    private static final int MAX_PAYLOADS = 64;
+    private static final ScheduledExecutorService STORE = Executors.newSingleThreadScheduledExecutor((task) -> {
+        val thread = new Thread(task);
+        thread.setName("Config Sync Store");
+        thread.setDaemon(true);
+        return thread;
+    });
+    /**
+     * Checked payloads, keyed by file name. The name contains the hash of the contents, so entries never go stale.
+     * Kept in access order, once full the least recently used payload makes room for the new one.
+     */
+    private static final Map<String, byte[]> payloads = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+            return size() > MAX_PAYLOADS;
+        }
+    });
+    private static final AtomicBoolean started = new AtomicBoolean(false);
+    private static final AtomicBoolean refreshQueued = new AtomicBoolean(false);
+
+    /**
+     * Prunes old payloads now and once a day, and picks up the stored payloads.
+     */
+    static void start() {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        STORE.scheduleWithFixedDelay(SyncPayloadStore::prune, 0, 1, TimeUnit.DAYS);
+        refresh();
+    }
+
+    /**
+     * Picks up the payloads stored by other servers since the last refresh. Called when the sync generation changes.
+     */
+    static void refresh() {
+        if (started.get() && refreshQueued.compareAndSet(false, true)) {
+            STORE.execute(() -> {
+                refreshQueued.set(false);
+                load();
+            });
+        }
+    }
+
+    /**
+     * Only looks at the payloads in memory, safe to call from the network thread.
+     *
+     * @return The stored compressed payload, null if there is none.
+     */
+    @Nullable
+    static byte[] get(long payloadHash, int protocolVersion, int compressionLevel) {
+        return payloads.get(fileName(payloadHash, protocolVersion, compressionLevel));
+    }
+
+    /**
+     * Stores a payload we compressed ourselves. The file is written in the background, unless it already exists.
+     */
+    static void share(long payloadHash, int protocolVersion, int compressionLevel, byte[] compressed) {
+        val name = fileName(payloadHash, protocolVersion, compressionLevel);
+        payloads.put(name, compressed);
+        STORE.execute(() -> write(name, compressed));
+    }
+
+    private static String fileName(long payloadHash, int protocolVersion, int compressionLevel) {
+        return String.format("%016x.p%d.l%d.bin", payloadHash, protocolVersion, compressionLevel);
+    }
+
+    private static Path directory() {
+        return FileUtil.getMinecraftHomePath().resolve("config").resolve(Tags.MODID).resolve("sync");
+    }
+
+    private static void write(String name, byte[] compressed) {
+        val directory = directory();
+        val file = directory.resolve(name);
+        try {
+            if (Files.exists(file)) {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                return;
+            }
+            Files.createDirectories(directory);
+            //Unique name, other servers might be writing the same payload right now
+            val temp = Files.createTempFile(directory, name, ".tmp");
+            Files.write(temp, compressed);
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            FPLog.LOG.warn("Failed to store config sync payload " + file, e);
+        }
+    }
+
+    private static void load() {
+        val directory = directory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (val files = Files.newDirectoryStream(directory, "*.bin")) {
+            for (val file : files) {
+                //Leave room for the payloads of this server, stored ones must not push them out
+                if (payloads.size() >= MAX_PAYLOADS) {
+                    return;
+                }
+                val name = file.getFileName().toString();
+                if (payloads.containsKey(name)) {
+                    continue;
+                }
+                val parts = name.split("\\.");
+                if (parts.length != 4 || !parts[1].startsWith("p")) {
+                    continue;
+                }
+                try {
+                    val payloadHash = Long.parseUnsignedLong(parts[0], 16);
+                    val protocolVersion = Integer.parseInt(parts[1].substring(1));
+                    if (protocolVersion < 3) {
+                        continue;
+                    }
+                    val compressed = Files.readAllBytes(file);
+                    if (matches(compressed, payloadHash, protocolVersion)) {
+                        payloads.put(name, compressed);
+                    } else {
+                        FPLog.LOG.warn("Stored config sync payload {} does not match its name, deleting it", file);
+                        Files.deleteIfExists(file);
+                    }
+                } catch (NumberFormatException | NoSuchFileException ignored) {
+                    //Not ours, or pruned by another server
+                } catch (IOException e) {
+                    FPLog.LOG.debug("Could not read stored config sync payload " + file, e);
+                }
+            }
+        } catch (IOException e) {
+            FPLog.LOG.debug("Could not list stored config sync payloads in " + directory, e);
+        }
+    }
+
+    /**
+     * @return Whether the payload decompresses to a reply with the given version and hash, whose contents match the
+     * hash.
+     */
+    static boolean matches(byte[] compressed, long payloadHash, int protocolVersion) {
+        val inflater = new Inflater(false);
+        try (val input = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed), inflater))) {
+            if (input.readInt() != -1 || input.readInt() != protocolVersion || input.readLong() != payloadHash) {
+                return false;
+            }
+            val hash = new HashOutputStream();
+            val buffer = new byte[8192];
+            int read;
+            while ((read = input.read(buffer)) >= 0) {
+                hash.write(buffer, 0, read);
+            }
+            return hash.finish() == payloadHash;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static void prune() {
+        val directory = directory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        val cutoff = System.currentTimeMillis() - MAX_AGE_MILLIS;
+        try (val files = Files.newDirectoryStream(directory)) {
+            for (val file : files) {
+                val name = file.getFileName().toString();
+                if (!name.endsWith(".bin") && !name.endsWith(".tmp")) {
+                    continue;
+                }
+                try {
+                    if (payloads.containsKey(name)) {
+                        //Still in use here
+                        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+                    } else if (Files.getLastModifiedTime(file).toMillis() < cutoff) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException ignored) {
+                    //Another server got to it first
+                }
+            }
+        } catch (IOException e) {
+            FPLog.LOG.debug("Could not prune stored config sync payloads in " + directory, e);
+        }
+    }
+}
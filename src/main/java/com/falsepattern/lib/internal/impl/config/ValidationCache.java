@@ -0,0 +1,58 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * What already passed validation for a single config field. The validation rules of a field only depend on its
+ * annotations, so this is kept in its {@link FieldSchema}, and survives reloads, which rebuild the config fields.
+ */
+public final class ValidationCache {
+    private volatile Object lastValid;
+    private volatile Set<String> validStrings = Collections.emptySet();
+
+    /**
+     * @return The last value of the field that passed validation, null if none did yet.
+     */
+    public @Nullable Object lastValid() {
+        return lastValid;
+    }
+
+    public void lastValid(Object value) {
+        lastValid = value;
+    }
+
+    /**
+     * @return The elements of the last validated string list that passed validation.
+     */
+    public Set<String> validStrings() {
+        return validStrings;
+    }
+
+    public void validStrings(Set<String> strings) {
+        validStrings = strings;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config.access;
+
+/**
+ * Reads and writes a single static config field.
+ * <p>
+ * The primitive variants skip boxing when the field has the matching primitive type. They're meant to be used with
+ * fields of that type only.
+ */
+public interface FieldAccessor {
+    Object get();
+
+    void set(Object value);
+
+    int getInt();
+
+    void setInt(int value);
+
+    double getDouble();
+
+    void setDouble(double value);
+
+    boolean getBoolean();
+
+    void setBoolean(boolean value);
+}
@@ -0,0 +1,269 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config.access;
+
+import com.falsepattern.lib.internal.FPLog;
+import com.falsepattern.lib.internal.Tags;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.val;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Creates {@link FieldAccessor}s for config fields.
+ * <p>
+ * Public static fields of public classes get a small generated class that uses plain GETSTATIC/PUTSTATIC, so
+ * loading, saving and syncing configs does not go through reflection. Everything else falls back to
+ * {@link ReflectionFieldAccessor}.
+ * <p>
+ * Config fields are re-parsed on every reload, so accessors are cached per field.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FieldAccessors {
+    private static final boolean FORCE_REFLECTION = Boolean.parseBoolean(System.getProperty(Tags.MODID + ".config.reflectionAccessors", "false"));
+    private static final String ACCESSOR_INTERNAL_NAME = Type.getInternalName(FieldAccessor.class);
+    private static final String GENERATED_PREFIX = FieldAccessors.class.getPackage().getName() + ".Generated$";
+    private static final Map<Field, FieldAccessor> accessors = new ConcurrentHashMap<>();
+    /**
+     * The loaders only hold on to their parent weakly. A null value means that classes of that loader can't get an
+     * accessor class.
+     */
+    private static final Map<ClassLoader, WeakReference<AccessorClassLoader>> loaders = new WeakHashMap<>();
+    private static final AtomicInteger counter = new AtomicInteger();
+
+    public static FieldAccessor of(Field field) {
+        val cached = accessors.get(field);
+        if (cached != null) {
+            return cached;
+        }
+        FieldAccessor accessor = null;
+        if (!FORCE_REFLECTION && canGenerate(field)) {
+            try {
+                accessor = generate(field);
+            } catch (Throwable t) {
+                FPLog.LOG.debug("Could not generate accessor for config field "
+                                + field.getDeclaringClass().getName()
+                                + "."
+                                + field.getName()
+                                + ", using reflection", t);
+            }
+        }
+        if (accessor == null) {
+            accessor = new ReflectionFieldAccessor(field);
+        }
+        val existing = accessors.putIfAbsent(field, accessor);
+        return existing != null ? existing : accessor;
+    }
+
+    private static boolean canGenerate(Field field) {
+        val mods = field.getModifiers();
+        if (!Modifier.isStatic(mods) || !Modifier.isPublic(mods) || Modifier.isFinal(mods)) {
+            return false;
+        }
+        if (!Modifier.isPublic(field.getDeclaringClass().getModifiers())) {
+            return false;
+        }
+        var type = field.getType();
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return type == int.class || type == double.class || type == boolean.class || field.getType().isArray();
+        }
+        return Modifier.isPublic(type.getModifiers());
+    }
+
+    private static FieldAccessor generate(Field field) throws ReflectiveOperationException {
+        val loader = loaderFor(field.getDeclaringClass().getClassLoader());
+        if (loader == null) {
+            return null;
+        }
+        val name = GENERATED_PREFIX + counter.getAndIncrement();
+        val bytes = generateBytes(name.replace('.', '/'), field);
+        val accessor = (FieldAccessor) loader.define(name, bytes).getConstructor().newInstance();
+        //Access to the field is only checked when the instructions are linked, which happens on first use
+        accessor.set(accessor.get());
+        return accessor;
+    }
+
+    private static AccessorClassLoader loaderFor(ClassLoader parent) {
+        if (parent == null) {
+            return null;
+        }
+        synchronized (loaders) {
+            if (loaders.containsKey(parent)) {
+                val ref = loaders.get(parent);
+                if (ref == null) {
+                    return null;
+                }
+                val existing = ref.get();
+                if (existing != null) {
+                    return existing;
+                }
+            }
+            AccessorClassLoader loader = null;
+            try {
+                //The generated class must link against the same FieldAccessor as we do.
+                if (Class.forName(FieldAccessor.class.getName(), false, parent) == FieldAccessor.class) {
+                    loader = new AccessorClassLoader(parent);
+                }
+            } catch (ClassNotFoundException ignored) {
+            }
+            loaders.put(parent, loader == null ? null : new WeakReference<>(loader));
+            return loader;
+        }
+    }
+
+    private static byte[] generateBytes(String internalName, Field field) {
+        val owner = Type.getInternalName(field.getDeclaringClass());
+        val fieldName = field.getName();
+        val type = Type.getType(field.getType());
+        val desc = type.getDescriptor();
+        val cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_8, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, internalName, null, "java/lang/Object", new String[]{ACCESSOR_INTERNAL_NAME});
+
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "get", "()Ljava/lang/Object;", null, null);
+        mv.visitCode();
+        mv.visitFieldInsn(GETSTATIC, owner, fieldName, desc);
+        box(mv, type);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "set", "(Ljava/lang/Object;)V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 1);
+        unbox(mv, type);
+        mv.visitFieldInsn(PUTSTATIC, owner, fieldName, desc);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        primitiveAccessors(cw, internalName, owner, fieldName, type, Type.INT_TYPE, "Int", ILOAD, IRETURN);
+        primitiveAccessors(cw, internalName, owner, fieldName, type, Type.DOUBLE_TYPE, "Double", DLOAD, DRETURN);
+        primitiveAccessors(cw, internalName, owner, fieldName, type, Type.BOOLEAN_TYPE, "Boolean", ILOAD, IRETURN);
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    /**
+     * Generates the getter and setter of one primitive type. They access the field directly if it has that type, and
+     * go through the boxing {@code get}/{@code set} otherwise.
+     */
+    private static void primitiveAccessors(ClassWriter cw, String internalName, String owner, String fieldName, Type fieldType, Type primitive, String suffix, int loadOp, int returnOp) {
+        val desc = primitive.getDescriptor();
+        val direct = fieldType.getSort() == primitive.getSort();
+        MethodVisitor mv = cw.visitMethod(ACC_PUBLIC, "get" + suffix, "()" + desc, null, null);
+        mv.visitCode();
+        if (direct) {
+            mv.visitFieldInsn(GETSTATIC, owner, fieldName, desc);
+        } else {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitMethodInsn(INVOKEVIRTUAL, internalName, "get", "()Ljava/lang/Object;", false);
+            unbox(mv, primitive);
+        }
+        mv.visitInsn(returnOp);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(ACC_PUBLIC, "set" + suffix, "(" + desc + ")V", null, null);
+        mv.visitCode();
+        if (direct) {
+            mv.visitVarInsn(loadOp, 1);
+            mv.visitFieldInsn(PUTSTATIC, owner, fieldName, desc);
+        } else {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitVarInsn(loadOp, 1);
+            box(mv, primitive);
+            mv.visitMethodInsn(INVOKEVIRTUAL, internalName, "set", "(Ljava/lang/Object;)V", false);
+        }
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
+    private static void box(MethodVisitor mv, Type type) {
+        switch (type.getSort()) {
+            case Type.INT:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Integer", "valueOf", "(I)Ljava/lang/Integer;", false);
+                break;
+            case Type.DOUBLE:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "valueOf", "(D)Ljava/lang/Double;", false);
+                break;
+            case Type.BOOLEAN:
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Boolean", "valueOf", "(Z)Ljava/lang/Boolean;", false);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static void unbox(MethodVisitor mv, Type type) {
+        switch (type.getSort()) {
+            case Type.INT:
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Integer");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Integer", "intValue", "()I", false);
+                break;
+            case Type.DOUBLE:
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Double");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Double", "doubleValue", "()D", false);
+                break;
+            case Type.BOOLEAN:
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Boolean");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Boolean", "booleanValue", "()Z", false);
+                break;
+            default:
+                mv.visitTypeInsn(CHECKCAST, type.getInternalName());
+                break;
+        }
+    }
+
+    private static final class AccessorClassLoader extends ClassLoader {
+        AccessorClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config.access;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.lang.reflect.Field;
+
+/**
+ * Fallback accessor for fields that generated bytecode cannot reach (non-public fields or classes).
+ */
+@RequiredArgsConstructor
+public final class ReflectionFieldAccessor implements FieldAccessor {
+    private final Field field;
+
+    @SneakyThrows
+    @Override
+    public Object get() {
+        return field.get(null);
+    }
+
+    @SneakyThrows
+    @Override
+    public void set(Object value) {
+        field.set(null, value);
+    }
+
+    @SneakyThrows
+    @Override
+    public int getInt() {
+        return field.getInt(null);
+    }
+
+    @SneakyThrows
+    @Override
+    public void setInt(int value) {
+        field.setInt(null, value);
+    }
+
+    @SneakyThrows
+    @Override
+    public double getDouble() {
+        return field.getDouble(null);
+    }
+
+    @SneakyThrows
+    @Override
+    public void setDouble(double value) {
+        field.setDouble(null, value);
+    }
+
+    @SneakyThrows
+    @Override
+    public boolean getBoolean() {
+        return field.getBoolean(null);
+    }
+
+    @SneakyThrows
+    @Override
+    public void setBoolean(boolean value) {
+        field.setBoolean(null, value);
+    }
+}
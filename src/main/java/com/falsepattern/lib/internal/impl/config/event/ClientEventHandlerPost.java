@@ -33,6 +33,7 @@ import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.entity.EntityJoinWorldEvent;
 import cpw.mods.fml.common.FMLCommonHandler;
 import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
 import cpw.mods.fml.common.network.FMLNetworkEvent;
 import cpw.mods.fml.relauncher.Side;
 import cpw.mods.fml.relauncher.SideOnly;
@@ -58,9 +59,17 @@ public final class ClientEventHandlerPost {
 
     private AtomicBoolean shouldDoConfigSync = new AtomicBoolean(false);
 
+    @SubscribeEvent
+    public void onClientTick(TickEvent.ClientTickEvent e) {
+        if (e.phase == TickEvent.Phase.START) {
+            ConfigurationManagerImpl.runClientTasks();
+        }
+    }
+
     @SneakyThrows
     @SubscribeEvent
     public void onJoinWorld(FMLNetworkEvent.ClientConnectedToServerEvent e) {
+        ConfigurationManagerImpl.setSyncServer(e.isLocal ? null : String.valueOf(e.manager.getSocketAddress()));
         if (e.isLocal)
             return;
         shouldDoConfigSync.set(true);
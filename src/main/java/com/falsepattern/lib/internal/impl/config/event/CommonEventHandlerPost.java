@@ -24,6 +24,7 @@ package com.falsepattern.lib.internal.impl.config.event;
 
 import com.falsepattern.lib.config.event.ConfigSyncRequestEvent;
 import com.falsepattern.lib.internal.FalsePatternLib;
+import com.falsepattern.lib.internal.impl.config.ConfigFileWatcher;
 import com.falsepattern.lib.internal.impl.config.net.SyncPrompt;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -32,6 +33,7 @@ import lombok.val;
 import net.minecraft.entity.player.EntityPlayerMP;
 import cpw.mods.fml.common.FMLCommonHandler;
 import cpw.mods.fml.common.eventhandler.SubscribeEvent;
+import cpw.mods.fml.common.gameevent.TickEvent;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class CommonEventHandlerPost {
@@ -41,6 +43,13 @@ public class CommonEventHandlerPost {
         FMLCommonHandler.instance().bus().register(INSTANCE);
     }
 
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent e) {
+        if (e.phase == TickEvent.Phase.END) {
+            ConfigFileWatcher.tick();
+        }
+    }
+
     @SubscribeEvent
     public void onSyncRequestServer(ConfigSyncRequestEvent.Server e) {
         val players = e.getPlayers();
@@ -21,9 +21,9 @@
  */
 package com.falsepattern.lib.internal.impl.config.fields;
 
-import com.falsepattern.lib.config.Config;
 import com.falsepattern.lib.internal.impl.config.ConfigFieldParameters;
-import com.falsepattern.lib.internal.impl.config.DeclOrderInternal;
+import com.falsepattern.lib.internal.impl.config.FieldSchema;
+import com.falsepattern.lib.internal.impl.config.access.FieldAccessor;
 import lombok.Getter;
 import lombok.val;
 
@@ -34,13 +34,15 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.lang.reflect.Field;
-import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 public abstract class AConfigField<T> {
     public final boolean noSync;
     public final int order;
     public final String name;
+    protected final FieldSchema schema;
     protected final Field field;
+    protected final FieldAccessor accessor;
     protected final Configuration configuration;
     protected final String category;
     protected final String langKey;
@@ -48,6 +50,7 @@ public abstract class AConfigField<T> {
     @Getter
     protected final String comment;
     private boolean uninitialized;
+    private final LongAdder validationFailures;
 
     public static RuntimeException noDefault(Field field, String annotation) {
         return new RuntimeException("The field "
@@ -64,21 +67,22 @@ public abstract class AConfigField<T> {
     }
 
     protected AConfigField(ConfigFieldParameters params, Property.Type type, boolean isList) {
-        this.field = params.field();
+        this.schema = params.schema();
+        this.field = schema.field();
+        this.accessor = schema.accessor();
         this.configuration = params.configuration();
         this.category = params.category();
-        comment = Optional.ofNullable(field.getAnnotation(Config.Comment.class))
-                          .map(Config.Comment::value)
-                          .map((lines) -> String.join("\n", lines))
-                          .orElse("");
-        val nameAnnotation = Optional.ofNullable(field.getAnnotation(Config.Name.class));
-        name = nameAnnotation.map(Config.Name::value)
-                             .orElse(field.getName());
-        langKey =
-                Optional.ofNullable(field.getAnnotation(Config.LangKey.class))
-                        .map(Config.LangKey::value)
-                        .map(x -> x.isEmpty() ? "config." + params.modid() + "." + params.category() + "." + name : x)
-                        .orElse(name);
+        this.validationFailures = params.validationFailures();
+        comment = schema.comment();
+        name = schema.name();
+        val rawLangKey = schema.langKey();
+        if (rawLangKey == null) {
+            langKey = name;
+        } else if (rawLangKey.isEmpty()) {
+            langKey = "config." + params.modid() + "." + params.category() + "." + name;
+        } else {
+            langKey = rawLangKey;
+        }
         this.type = type;
         val cat = configuration.getCategory(category);
         uninitialized = !cat.containsKey(name);
@@ -89,12 +93,10 @@ public abstract class AConfigField<T> {
             property = configuration.get(category, name, "", comment, type);
         }
         property.setLanguageKey(langKey);
-        property.setRequiresWorldRestart(field.isAnnotationPresent(Config.RequiresWorldRestart.class));
-        property.setRequiresMcRestart(field.isAnnotationPresent(Config.RequiresMcRestart.class));
-        noSync = field.isAnnotationPresent(Config.NoSync.class);
-        order = Optional.ofNullable(field.getAnnotation(DeclOrderInternal.class))
-                        .map(DeclOrderInternal::value)
-                        .orElse(-1);
+        property.setRequiresWorldRestart(schema.requiresWorldRestart());
+        property.setRequiresMcRestart(schema.requiresMcRestart());
+        noSync = schema.noSync();
+        order = schema.order();
     }
 
     protected abstract T getField();
@@ -107,31 +109,51 @@ public abstract class AConfigField<T> {
 
     protected abstract T getDefault();
 
+    /**
+     * The copy hooks below are what load/save/reset go through. Primitive fields override them to move values
+     * between the field and the property without boxing.
+     */
+    protected void copyFieldToConfig() {
+        putConfig(getField());
+    }
+
+    protected void copyConfigToField() {
+        putField(getConfig());
+    }
+
+    protected void copyDefaultToField() {
+        putField(getDefault());
+    }
+
+    protected void copyDefaultToConfig() {
+        putConfig(getDefault());
+    }
+
     public void save() {
-        if (!validateField()) {
+        if (!validate()) {
             setToDefault();
         } else {
-            putConfig(getField());
+            copyFieldToConfig();
         }
     }
 
     public void load() {
-        putField(getConfig());
-        if (!validateField()) {
+        copyConfigToField();
+        if (!validate()) {
             setToDefault();
         }
     }
 
     public void setToDefault() {
-        putField(getDefault());
-        putConfig(getDefault());
+        copyDefaultToField();
+        copyDefaultToConfig();
     }
 
     public void init() {
         if (uninitialized) {
             uninitialized = false;
-            putField(getDefault());
-            putConfig(getDefault());
+            copyDefaultToField();
+            copyDefaultToConfig();
         } else {
             load();
         }
@@ -144,9 +166,60 @@ public abstract class AConfigField<T> {
     @SuppressWarnings("BooleanMethodIsAlwaysInverted")
     public abstract boolean validateField();
 
+    /**
+     * Same as {@link #validateField()}, but also counts the failures for the config stats.
+     */
+    public final boolean validate() {
+        if (validateField()) {
+            return true;
+        }
+        validationFailures.increment();
+        return false;
+    }
+
     public abstract void transmit(DataOutput output) throws IOException;
 
-    public abstract void receive(DataInput input) throws IOException;
+    /**
+     * Reads a value sent with {@link #transmit(DataOutput)}, without touching the field.
+     */
+    protected abstract T decode(DataInput input) throws IOException;
+
+    /**
+     * Writes the value in the compact sync format, which is only used when both sides have the same config schema.
+     * Fields without a more compact representation use the regular format.
+     */
+    public void transmitCompact(DataOutput output) throws IOException {
+        transmit(output);
+    }
+
+    protected T decodeCompact(DataInput input) throws IOException {
+        return decode(input);
+    }
+
+    /**
+     * Reads a synchronized value, but does not apply it yet. This can be called from any thread, the returned task
+     * writes the value into the field and must be run on the thread that owns the config.
+     * <p>
+     * Primitive fields override this to keep the staged value unboxed.
+     */
+    public Runnable stage(DataInput input, boolean compact) throws IOException {
+        val value = compact ? decodeCompact(input) : decode(input);
+        return () -> putField(value);
+    }
+
+    /**
+     * Writes everything the compact format of this field depends on, for the schema hash.
+     */
+    public void writeSchema(DataOutput output) throws IOException {
+        output.writeUTF(field.getType().getName());
+    }
+
+    /**
+     * @return The current value of the field, detached from it. Used for config snapshots.
+     */
+    public Object snapshotValue() {
+        return getField();
+    }
 
     public Field getJavaField() {
         return field;
@@ -25,7 +25,6 @@ import com.falsepattern.lib.config.Config;
 import com.falsepattern.lib.config.ConfigException;
 import com.falsepattern.lib.config.event.ConfigValidationFailureEvent;
 import com.falsepattern.lib.internal.impl.config.ConfigFieldParameters;
-import lombok.SneakyThrows;
 import lombok.val;
 
 import net.minecraftforge.common.config.Property;
@@ -35,6 +34,7 @@ import java.io.DataOutput;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Array;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -43,6 +43,14 @@ public abstract class AListConfigField<T, E extends Annotation> extends AConfigF
     protected final boolean fixedLength;
     protected final int maxLength;
     protected final T defaultValue;
+    private volatile Derived derived;
+    /**
+     * Bumped every time the field is written through {@link #putField}. Validation is skipped while neither this nor
+     * the array in the field changed since the last successful validation.
+     */
+    private int modifications;
+    private int validatedModifications = -1;
+    private Object validatedArray;
 
 
     protected AListConfigField(ConfigFieldParameters params,
@@ -53,17 +61,17 @@ public abstract class AListConfigField<T, E extends Annotation> extends AConfigF
                                )
             throws ConfigException {
         super(params, type, true);
-        fixedLength = field.isAnnotationPresent(Config.ListFixedLength.class);
+        fixedLength = schema.annotation(Config.ListFixedLength.class) != null;
         val property = getProperty();
         property.setIsListLengthFixed(fixedLength);
-        defaultValue = Optional.ofNullable(field.getAnnotation(defaultAnnotation))
+        defaultValue = Optional.ofNullable(schema.annotation(defaultAnnotation))
                                .map(defaultValueGetter)
                                .orElseThrow(() -> noDefault(field, defaultAnnotation.getSimpleName()));
         defaultValueSetter.accept(property, defaultValue);
         if (fixedLength) {
             maxLength = Array.getLength(defaultValue);
         } else {
-            maxLength = Optional.ofNullable(field.getAnnotation(Config.ListMaxLength.class))
+            maxLength = Optional.ofNullable(schema.annotation(Config.ListMaxLength.class))
                                 .map(Config.ListMaxLength::value)
                                 .orElse(-1);
         }
@@ -85,45 +93,137 @@ public abstract class AListConfigField<T, E extends Annotation> extends AConfigF
 
     protected abstract T createArray(int length);
 
+    /**
+     * Validates the elements of an array that already has a valid length. Should post a validation failure event for
+     * every invalid element.
+     */
+    protected boolean validateElements(T arr) {
+        return true;
+    }
+
+    protected void transmitElementsCompact(DataOutput output, T arr) throws IOException {
+        transmitElements(output, arr);
+    }
+
+    protected void receiveElementsCompact(DataInput input, T arr) throws IOException {
+        receiveElements(input, arr);
+    }
+
 
+    /**
+     * @return The array currently in the field, without copying it. Must not be modified or kept around.
+     */
     @SuppressWarnings("unchecked")
-    @SneakyThrows
+    protected final T fieldArray() {
+        return (T) accessor.get();
+    }
+
     @Override
     protected T getField() {
-        return arrayCopy((T) field.get(null));
+        val arr = fieldArray();
+        return arr == null ? null : arrayCopy(arr);
     }
 
-    @SneakyThrows
+    /**
+     * Takes ownership of the given array. Every caller passes in a freshly created array (read from the property, copied
+     * from the default, or received through sync), so there's no need for another copy.
+     */
     @Override
     protected void putField(T value) {
-        field.set(null, arrayCopy(value));
+        accessor.set(value);
+        modifications++;
+    }
+
+    @Override
+    protected void copyFieldToConfig() {
+        putConfig(fieldArray());
+    }
+
+    @Override
+    protected void copyDefaultToConfig() {
+        putConfig(defaultValue);
     }
 
     @Override
     public boolean validateField() {
-        val f = getField();
+        val f = fieldArray();
         if (f == null) {
             ConfigValidationFailureEvent.fieldIsNull(field, -1);
             return false;
         }
-        if ((fixedLength && length(getDefault()) != length(f)) || (maxLength >= 0 && length(f) > maxLength)) {
-            ConfigValidationFailureEvent.postSize(field, length(f), fixedLength, maxLength, length(getDefault()));
+        if (f == validatedArray && modifications == validatedModifications) {
+            return true;
+        }
+        //Validation only depends on the contents of the array, so an array equal to the last valid one is valid too
+        val lastValid = schema.validation().lastValid();
+        if (lastValid != null && Objects.deepEquals(f, lastValid)) {
+            markValidated(f);
+            return true;
+        }
+        if ((fixedLength && length(defaultValue) != length(f)) || (maxLength >= 0 && length(f) > maxLength)) {
+            ConfigValidationFailureEvent.postSize(field, length(f), fixedLength, maxLength, length(defaultValue));
             return false;
         }
+        if (!validateElements(f)) {
+            return false;
+        }
+        schema.validation().lastValid(arrayCopy(f));
+        markValidated(f);
         return true;
     }
 
+    private void markValidated(T arr) {
+        validatedArray = arr;
+        validatedModifications = modifications;
+    }
+
     @Override
     public void transmit(DataOutput output) throws IOException {
-        val f = getField();
+        val f = fieldArray();
         output.writeInt(length(f));
         transmitElements(output, f);
     }
 
     @Override
-    public void receive(DataInput input) throws IOException {
-        int length = input.readInt();
-        if ((fixedLength && length(getDefault()) != length) || (maxLength >= 0 && length > maxLength) || length < 0) {
+    protected T decode(DataInput input) throws IOException {
+        val arr = createArray(checkReceivedLength(input.readInt()));
+        receiveElements(input, arr);
+        return arr;
+    }
+
+    @Override
+    public void transmitCompact(DataOutput output) throws IOException {
+        val f = fieldArray();
+        CompactIO.writeVarInt(output, length(f));
+        transmitElementsCompact(output, f);
+    }
+
+    @Override
+    protected T decodeCompact(DataInput input) throws IOException {
+        val arr = createArray(checkReceivedLength(CompactIO.readVarInt(input)));
+        receiveElementsCompact(input, arr);
+        return arr;
+    }
+
+    /**
+     * Returns a value derived from the current array in the field, such as a lookup set. The value is rebuilt on the
+     * first call after the array in the field was replaced, which happens on every load and sync.
+     *
+     * @param builder Creates the derived value. Receives null if the field is null, and must not modify the array.
+     */
+    @SuppressWarnings("unchecked")
+    protected final <V> V derived(Function<T, V> builder) {
+        val source = accessor.get();
+        var current = derived;
+        if (current == null || current.source() != source) {
+            current = new Derived(source, builder.apply((T) source));
+            derived = current;
+        }
+        return (V) current.value();
+    }
+
+    private int checkReceivedLength(int length) throws IOException {
+        if ((fixedLength && length(defaultValue) != length) || (maxLength >= 0 && length > maxLength) || length < 0) {
             throw new IOException("Error while retrieving config value for field "
                                   + field.getName()
                                   + " in class "
@@ -131,7 +231,8 @@ public abstract class AListConfigField<T, E extends Annotation> extends AConfigF
                                   + ":\n"
                                   + "Illegal array length received!");
         }
-        val arr = createArray(length);
-        receiveElements(input, arr);
+        return length;
     }
+
+    private record Derived(Object source, Object value) {}
 }
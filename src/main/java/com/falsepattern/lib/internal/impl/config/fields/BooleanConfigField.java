@@ -24,7 +24,6 @@ package com.falsepattern.lib.internal.impl.config.fields;
 import com.falsepattern.lib.config.Config;
 import com.falsepattern.lib.config.event.ConfigValidationFailureEvent;
 import com.falsepattern.lib.internal.impl.config.ConfigFieldParameters;
-import lombok.SneakyThrows;
 import lombok.val;
 
 import net.minecraftforge.common.config.Property;
@@ -41,7 +40,7 @@ public class BooleanConfigField extends AConfigField<Boolean> {
     public BooleanConfigField(ConfigFieldParameters params) {
         super(params, Property.Type.BOOLEAN);
         primitive = field.getType().isPrimitive();
-        defaultValue = Optional.ofNullable(field.getAnnotation(Config.DefaultBoolean.class))
+        defaultValue = Optional.ofNullable(schema.annotation(Config.DefaultBoolean.class))
                                .map(Config.DefaultBoolean::value)
                                .orElseThrow(() -> noDefault(field, "DefaultBoolean"));
         val property = getProperty();
@@ -52,20 +51,26 @@ public class BooleanConfigField extends AConfigField<Boolean> {
         property.comment += "\n[default: " + defaultValue + "]";
     }
 
-    @SneakyThrows
+    private boolean fieldValue() {
+        return primitive ? accessor.getBoolean() : (Boolean) accessor.get();
+    }
+
+    private void fieldValue(boolean value) {
+        if (primitive) {
+            accessor.setBoolean(value);
+        } else {
+            accessor.set(value);
+        }
+    }
+
     @Override
     protected Boolean getField() {
-        return primitive ? field.getBoolean(null) : (Boolean) field.get(null);
+        return fieldValue();
     }
 
-    @SneakyThrows
     @Override
     protected void putField(Boolean value) {
-        if (primitive) {
-            field.setBoolean(null, value);
-        } else {
-            field.set(null, value);
-        }
+        fieldValue((boolean) value);
     }
 
     @Override
@@ -83,10 +88,29 @@ public class BooleanConfigField extends AConfigField<Boolean> {
         return defaultValue;
     }
 
-    @SneakyThrows
+    @Override
+    protected void copyFieldToConfig() {
+        getProperty().set(fieldValue());
+    }
+
+    @Override
+    protected void copyConfigToField() {
+        fieldValue(getProperty().getBoolean());
+    }
+
+    @Override
+    protected void copyDefaultToField() {
+        fieldValue(defaultValue);
+    }
+
+    @Override
+    protected void copyDefaultToConfig() {
+        getProperty().set(defaultValue);
+    }
+
     @Override
     public boolean validateField() {
-        if (!primitive && field.get(null) == null) {
+        if (!primitive && accessor.get() == null) {
             ConfigValidationFailureEvent.fieldIsNull(field, -1);
             return false;
         }
@@ -95,11 +119,17 @@ public class BooleanConfigField extends AConfigField<Boolean> {
 
     @Override
     public void transmit(DataOutput output) throws IOException {
-        output.writeBoolean(getField());
+        output.writeBoolean(fieldValue());
+    }
+
+    @Override
+    protected Boolean decode(DataInput input) throws IOException {
+        return input.readBoolean();
     }
 
     @Override
-    public void receive(DataInput input) throws IOException {
-        putField(input.readBoolean());
+    public Runnable stage(DataInput input, boolean compact) throws IOException {
+        val value = input.readBoolean();
+        return () -> fieldValue(value);
     }
 }
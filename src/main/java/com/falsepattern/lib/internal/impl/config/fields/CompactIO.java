@@ -0,0 +1,88 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config.fields;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.val;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Helpers for the compact config sync format: unsigned LEB128 varints for lengths, and UTF-8 strings.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CompactIO {
+    public static void writeVarInt(DataOutput output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    public static int readVarInt(DataInput input) throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            val b = input.readUnsignedByte();
+            result |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    public static void writeString(DataOutput output, String value) throws IOException {
+        val bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(output, bytes.length);
+        output.write(bytes);
+    }
+
+    public static String readString(DataInput input, int maxLength, String valueName, String className)
+            throws IOException {
+        val byteLength = readVarInt(input);
+        //A UTF-16 char never takes more than 3 bytes in UTF-8 (surrogate pairs take 4 bytes for 2 chars)
+        if (byteLength < 0 || (maxLength >= 0 && byteLength > maxLength * 3L)) {
+            throw illegalLength(valueName, className);
+        }
+        val bytes = new byte[byteLength];
+        input.readFully(bytes);
+        val result = new String(bytes, StandardCharsets.UTF_8);
+        if (maxLength >= 0 && result.length() > maxLength) {
+            throw illegalLength(valueName, className);
+        }
+        return result;
+    }
+
+    private static IOException illegalLength(String valueName, String className) {
+        return new IOException("Error while retrieving value for "
+                               + valueName
+                               + " in class "
+                               + className
+                               + ":\n"
+                               + "Illegal string length received!");
+    }
+}
@@ -24,7 +24,6 @@ package com.falsepattern.lib.internal.impl.config.fields;
 import com.falsepattern.lib.config.Config;
 import com.falsepattern.lib.config.event.ConfigValidationFailureEvent;
 import com.falsepattern.lib.internal.impl.config.ConfigFieldParameters;
-import lombok.SneakyThrows;
 import lombok.val;
 
 import net.minecraftforge.common.config.Property;
@@ -43,10 +42,10 @@ public class DoubleConfigField extends AConfigField<Double> {
     public DoubleConfigField(ConfigFieldParameters params) {
         super(params, Property.Type.DOUBLE);
         primitive = field.getType().isPrimitive();
-        val range = Optional.ofNullable(field.getAnnotation(Config.RangeDouble.class));
+        val range = Optional.ofNullable(schema.annotation(Config.RangeDouble.class));
         min = range.map(Config.RangeDouble::min).orElse(-Double.MAX_VALUE);
         max = range.map(Config.RangeDouble::max).orElse(Double.MAX_VALUE);
-        defaultValue = Optional.ofNullable(field.getAnnotation(Config.DefaultDouble.class))
+        defaultValue = Optional.ofNullable(schema.annotation(Config.DefaultDouble.class))
                                .map(Config.DefaultDouble::value)
                                .orElseThrow(() -> noDefault(field, "DefaultDouble"));
         val property = getProperty();
@@ -59,20 +58,26 @@ public class DoubleConfigField extends AConfigField<Double> {
         property.comment += "\n[range: " + min + " ~ " + max + ", default: " + defaultValue + "]";
     }
 
-    @SneakyThrows
+    private double fieldValue() {
+        return primitive ? accessor.getDouble() : (Double) accessor.get();
+    }
+
+    private void fieldValue(double value) {
+        if (primitive) {
+            accessor.setDouble(value);
+        } else {
+            accessor.set(value);
+        }
+    }
+
     @Override
     protected Double getField() {
-        return primitive ? field.getDouble(null) : (Double) field.get(null);
+        return fieldValue();
     }
 
-    @SneakyThrows
     @Override
     protected void putField(Double value) {
-        if (primitive) {
-            field.setDouble(null, value);
-        } else {
-            field.set(null, value);
-        }
+        fieldValue((double) value);
     }
 
     @Override
@@ -90,14 +95,33 @@ public class DoubleConfigField extends AConfigField<Double> {
         return defaultValue;
     }
 
-    @SneakyThrows
+    @Override
+    protected void copyFieldToConfig() {
+        getProperty().set(fieldValue());
+    }
+
+    @Override
+    protected void copyConfigToField() {
+        fieldValue(getProperty().getDouble());
+    }
+
+    @Override
+    protected void copyDefaultToField() {
+        fieldValue(defaultValue);
+    }
+
+    @Override
+    protected void copyDefaultToConfig() {
+        getProperty().set(defaultValue);
+    }
+
     @Override
     public boolean validateField() {
-        if (!primitive && field.get(null) == null) {
+        if (!primitive && accessor.get() == null) {
             ConfigValidationFailureEvent.fieldIsNull(field, -1);
             return false;
         }
-        val value = (double) getField();
+        val value = fieldValue();
         if (value >= min && value <= max) {
             return true;
         }
@@ -111,11 +135,17 @@ public class DoubleConfigField extends AConfigField<Double> {
 
     @Override
     public void transmit(DataOutput output) throws IOException {
-        output.writeDouble(getField());
+        output.writeDouble(fieldValue());
+    }
+
+    @Override
+    protected Double decode(DataInput input) throws IOException {
+        return input.readDouble();
     }
 
     @Override
-    public void receive(DataInput input) throws IOException {
-        putField(input.readDouble());
+    public Runnable stage(DataInput input, boolean compact) throws IOException {
+        val value = input.readDouble();
+        return () -> fieldValue(value);
     }
 }
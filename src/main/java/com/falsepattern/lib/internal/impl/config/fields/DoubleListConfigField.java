@@ -46,7 +46,7 @@ public class DoubleListConfigField extends AListConfigField<double[], Config.Def
               Config.DefaultDoubleList::value,
               Property::setDefaultValues
              );
-        val range = Optional.ofNullable(field.getAnnotation(Config.RangeDouble.class));
+        val range = Optional.ofNullable(schema.annotation(Config.RangeDouble.class));
         min = range.map(Config.RangeDouble::min).orElse(-Double.MAX_VALUE);
         max = range.map(Config.RangeDouble::max).orElse(Double.MAX_VALUE);
         val property = getProperty();
@@ -92,11 +92,7 @@ public class DoubleListConfigField extends AListConfigField<double[], Config.Def
     }
 
     @Override
-    public boolean validateField() {
-        if (!super.validateField()) {
-            return false;
-        }
-        double[] doubles = getField();
+    protected boolean validateElements(double[] doubles) {
         boolean valid = true;
         for (int j = 0; j < doubles.length; j++) {
             double d = doubles[j];
@@ -25,9 +25,6 @@ import com.falsepattern.lib.config.Config;
 import com.falsepattern.lib.config.event.ConfigValidationFailureEvent;
 import com.falsepattern.lib.internal.FPLog;
 import com.falsepattern.lib.internal.impl.config.ConfigFieldParameters;
-import com.google.common.collect.BiMap;
-import com.google.common.collect.HashBiMap;
-import lombok.SneakyThrows;
 import lombok.val;
 
 import net.minecraftforge.common.config.Property;
@@ -35,77 +32,55 @@ import net.minecraftforge.common.config.Property;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class EnumConfigField<T extends Enum<T>> extends AConfigField<T> {
-    private final int maxLength;
+    /**
+     * Enum constant tables, built once per enum class.
+     */
+    private static final Map<Class<?>, EnumTable<?>> tables = new ConcurrentHashMap<>();
+
+    private final EnumTable<T> table;
     private final Class<T> enumClass;
     private final T defaultValue;
-    private final BiMap<String, T> enumNameMap = HashBiMap.create();
 
     @SuppressWarnings("unchecked")
     public EnumConfigField(ConfigFieldParameters params) {
         super(params, Property.Type.STRING);
         enumClass = (Class<T>) field.getType();
-
-        val sj = new StringJoiner(", ", "[", "]");
-        for (val e : enumClass.getEnumConstants()) {
-            sj.add(e.name());
-            enumNameMap.put(e.name(), e);
+        table = (EnumTable<T>) tables.computeIfAbsent(enumClass, (c) -> EnumTable.of(enumClass));
+
+        val defName = Optional.ofNullable(schema.annotation(Config.DefaultEnum.class))
+                              .map(Config.DefaultEnum::value)
+                              .orElseThrow(() -> noDefault(field, "DefaultEnum"));
+        defaultValue = table.byName().get(defName);
+        if (defaultValue == null) {
+            throw new IllegalArgumentException("Default value \""
+                                               + defName
+                                               + "\" was not found in enum "
+                                               + enumClass.getName());
         }
-
-        defaultValue = Optional.ofNullable(field.getAnnotation(Config.DefaultEnum.class))
-                               .map(Config.DefaultEnum::value)
-                               .map((defName) -> enumNameMap.values()
-                                                            .stream()
-                                                            .filter((e) -> e.name().equals(defName))
-                                                            .findAny()
-                                                            .orElseThrow(() -> new IllegalArgumentException(
-                                                                    "Default value \""
-                                                                    + defName
-                                                                    + "\" was not found in enum "
-                                                                    + enumClass.getName())))
-                               .orElseThrow(() -> noDefault(field, "DefaultEnum"));
-        maxLength = enumNameMap.keySet().stream().mapToInt(String::length).max().orElse(0);
         val property = getProperty();
         property.setDefaultValue(defaultValue.name());
-        property.setValidValues(enumNameMap.keySet().toArray(new String[0]));
-        if (!enumNameMap.containsValue(getConfig())) {
+        property.setValidValues(table.names().clone());
+        if (!table.byName().containsKey(property.getString())) {
             setToDefault();
         }
         property.comment += "\n[default: "
                             + defaultValue
                             + ", possible values: "
-                            + sj
+                            + table.possibleValues()
                             + "]";
     }
 
-    public static void transmitString(DataOutput output, String value) throws IOException {
-        output.writeInt(value.length());
-        output.writeChars(value);
-    }
-
-    public static String receiveString(DataInput input, int maxLength, String fieldName, String className)
-            throws IOException {
-        val length = input.readInt();
-        if (length > maxLength || length < 0) {
-            throw new IOException("Error while retrieving config value for field "
-                                  + fieldName
-                                  + " in class "
-                                  + className
-                                  + ":\n"
-                                  + "Illegal string length received!");
-        }
-        val arr = new char[length];
-        for (int i = 0; i < arr.length; i++) {
-            arr[i] = input.readChar();
-        }
-        return new String(arr);
-    }
-
     private T getEnumByName(String name) {
-        if (!enumNameMap.containsKey(name)) {
+        val value = table.byName().get(name);
+        if (value == null) {
             FPLog.LOG.warn(
                     "Invalid value {} for enum configuration field {} of type {} in config class {}! Using default value of {}!",
                     name,
@@ -115,19 +90,17 @@ public class EnumConfigField<T extends Enum<T>> extends AConfigField<T> {
                     defaultValue.name());
             return defaultValue;
         }
-        return enumNameMap.get(name);
+        return value;
     }
 
-    @SneakyThrows
     @Override
     protected T getField() {
-        return enumClass.cast(field.get(null));
+        return enumClass.cast(accessor.get());
     }
 
-    @SneakyThrows
     @Override
     protected void putField(T value) {
-        field.set(null, value);
+        accessor.set(value);
     }
 
     @Override
@@ -145,7 +118,6 @@ public class EnumConfigField<T extends Enum<T>> extends AConfigField<T> {
         return defaultValue;
     }
 
-    @SneakyThrows
     @Override
     public boolean validateField() {
         if (getField() == null) {
@@ -157,11 +129,70 @@ public class EnumConfigField<T extends Enum<T>> extends AConfigField<T> {
 
     @Override
     public void transmit(DataOutput output) throws IOException {
-        transmitString(output, getField().name());
+        StringConfigField.transmitString(output, getField().name());
+    }
+
+    @Override
+    protected T decode(DataInput input) throws IOException {
+        return getEnumByName(StringConfigField.receiveString(input,
+                                                             table.maxLength(),
+                                                             field.getName(),
+                                                             field.getDeclaringClass().getName()));
     }
 
+    /**
+     * The compact format sends the ordinal. Both sides have the same constants in the same order, since they're part
+     * of the schema, see {@link #writeSchema(DataOutput)}.
+     */
     @Override
-    public void receive(DataInput input) throws IOException {
-        putField(getEnumByName(receiveString(input, maxLength, field.getName(), field.getDeclaringClass().getName())));
+    public void transmitCompact(DataOutput output) throws IOException {
+        CompactIO.writeVarInt(output, getField().ordinal());
+    }
+
+    @Override
+    protected T decodeCompact(DataInput input) throws IOException {
+        val ordinal = CompactIO.readVarInt(input);
+        if (ordinal < 0 || ordinal >= table.constants().length) {
+            throw new IOException("Error while retrieving config value for field "
+                                  + field.getName()
+                                  + " in class "
+                                  + field.getDeclaringClass().getName()
+                                  + ":\n"
+                                  + "Illegal enum ordinal received!");
+        }
+        return table.constants()[ordinal];
+    }
+
+    @Override
+    public void writeSchema(DataOutput output) throws IOException {
+        super.writeSchema(output);
+        val names = table.names();
+        output.writeInt(names.length);
+        for (val name : names) {
+            output.writeUTF(name);
+        }
+    }
+
+    /**
+     * @param names          The names of the constants, in ordinal order.
+     * @param possibleValues The names formatted for the config comment.
+     * @param maxLength      The length of the longest name.
+     */
+    private record EnumTable<E extends Enum<E>>(E[] constants, String[] names, Map<String, E> byName, String possibleValues, int maxLength) {
+        static <E extends Enum<E>> EnumTable<E> of(Class<E> enumClass) {
+            val constants = enumClass.getEnumConstants();
+            val names = new String[constants.length];
+            val byName = new HashMap<String, E>();
+            val sj = new StringJoiner(", ", "[", "]");
+            int maxLength = 0;
+            for (int i = 0; i < constants.length; i++) {
+                val name = constants[i].name();
+                names[i] = name;
+                byName.put(name, constants[i]);
+                sj.add(name);
+                maxLength = Math.max(maxLength, name.length());
+            }
+            return new EnumTable<>(constants, names, Collections.unmodifiableMap(byName), sj.toString(), maxLength);
+        }
     }
 }
@@ -24,7 +24,6 @@ package com.falsepattern.lib.internal.impl.config.fields;
 import com.falsepattern.lib.config.Config;
 import com.falsepattern.lib.config.event.ConfigValidationFailureEvent;
 import com.falsepattern.lib.internal.impl.config.ConfigFieldParameters;
-import lombok.SneakyThrows;
 import lombok.val;
 
 import net.minecraftforge.common.config.Property;
@@ -43,10 +42,10 @@ public class IntConfigField extends AConfigField<Integer> {
     public IntConfigField(ConfigFieldParameters params) {
         super(params, Property.Type.INTEGER);
         primitive = field.getType().isPrimitive();
-        val range = Optional.ofNullable(field.getAnnotation(Config.RangeInt.class));
+        val range = Optional.ofNullable(schema.annotation(Config.RangeInt.class));
         min = range.map(Config.RangeInt::min).orElse(Integer.MIN_VALUE);
         max = range.map(Config.RangeInt::max).orElse(Integer.MAX_VALUE);
-        defaultValue = Optional.ofNullable(field.getAnnotation(Config.DefaultInt.class))
+        defaultValue = Optional.ofNullable(schema.annotation(Config.DefaultInt.class))
                                .map(Config.DefaultInt::value)
                                .orElseThrow(() -> noDefault(field, "DefaultInt"));
         val property = getProperty();
@@ -59,20 +58,26 @@ public class IntConfigField extends AConfigField<Integer> {
         property.comment += "\n[range: " + min + " ~ " + max + ", default: " + defaultValue + "]";
     }
 
-    @SneakyThrows
+    private int fieldValue() {
+        return primitive ? accessor.getInt() : (Integer) accessor.get();
+    }
+
+    private void fieldValue(int value) {
+        if (primitive) {
+            accessor.setInt(value);
+        } else {
+            accessor.set(value);
+        }
+    }
+
     @Override
     protected Integer getField() {
-        return primitive ? field.getInt(null) : (Integer) field.get(null);
+        return fieldValue();
     }
 
-    @SneakyThrows
     @Override
     protected void putField(Integer value) {
-        if (primitive) {
-            field.setInt(null, value);
-        } else {
-            field.set(null, value);
-        }
+        fieldValue((int) value);
     }
 
     @Override
@@ -90,14 +95,33 @@ public class IntConfigField extends AConfigField<Integer> {
         return defaultValue;
     }
 
-    @SneakyThrows
+    @Override
+    protected void copyFieldToConfig() {
+        getProperty().set(fieldValue());
+    }
+
+    @Override
+    protected void copyConfigToField() {
+        fieldValue(getProperty().getInt());
+    }
+
+    @Override
+    protected void copyDefaultToField() {
+        fieldValue(defaultValue);
+    }
+
+    @Override
+    protected void copyDefaultToConfig() {
+        getProperty().set(defaultValue);
+    }
+
     @Override
     public boolean validateField() {
-        if (!primitive && field.get(null) == null) {
+        if (!primitive && accessor.get() == null) {
             ConfigValidationFailureEvent.fieldIsNull(field, -1);
             return false;
         }
-        val value = (int) getField();
+        val value = fieldValue();
         if (value >= min && value <= max) {
             return true;
         }
@@ -111,11 +135,17 @@ public class IntConfigField extends AConfigField<Integer> {
 
     @Override
     public void transmit(DataOutput output) throws IOException {
-        output.writeInt(getField());
+        output.writeInt(fieldValue());
+    }
+
+    @Override
+    protected Integer decode(DataInput input) throws IOException {
+        return input.readInt();
     }
 
     @Override
-    public void receive(DataInput input) throws IOException {
-        putField(input.readInt());
+    public Runnable stage(DataInput input, boolean compact) throws IOException {
+        val value = input.readInt();
+        return () -> fieldValue(value);
     }
 }
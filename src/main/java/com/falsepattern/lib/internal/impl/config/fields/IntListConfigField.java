@@ -23,6 +23,7 @@ package com.falsepattern.lib.internal.impl.config.fields;
 
 import com.falsepattern.lib.config.Config;
 import com.falsepattern.lib.config.ConfigException;
+import com.falsepattern.lib.config.ConfigIntSet;
 import com.falsepattern.lib.config.event.ConfigValidationFailureEvent;
 import com.falsepattern.lib.internal.impl.config.ConfigFieldParameters;
 import lombok.val;
@@ -38,6 +39,27 @@ import java.util.Optional;
 public class IntListConfigField extends AListConfigField<int[], Config.DefaultIntList> {
     private final int min;
     private final int max;
+    private final ConfigIntSet setView = new ConfigIntSet() {
+        @Override
+        public boolean contains(int value) {
+            return currentSet().contains(value);
+        }
+
+        @Override
+        public int size() {
+            return currentSet().size();
+        }
+
+        @Override
+        public int[] toArray() {
+            return currentSet().toArray();
+        }
+
+        @Override
+        public String toString() {
+            return currentSet().toString();
+        }
+    };
 
     public IntListConfigField(ConfigFieldParameters params) throws ConfigException {
         super(params,
@@ -46,7 +68,7 @@ public class IntListConfigField extends AListConfigField<int[], Config.DefaultIn
               Config.DefaultIntList::value,
               Property::setDefaultValues
               );
-        val range = Optional.ofNullable(field.getAnnotation(Config.RangeInt.class));
+        val range = Optional.ofNullable(schema.annotation(Config.RangeInt.class));
         min = range.map(Config.RangeInt::min).orElse(Integer.MIN_VALUE);
         max = range.map(Config.RangeInt::max).orElse(Integer.MAX_VALUE);
         val property = getProperty();
@@ -82,17 +104,24 @@ public class IntListConfigField extends AListConfigField<int[], Config.DefaultIn
         }
     }
 
+    /**
+     * @return A read-only set view of the elements of this field. It always reflects the current array in the field.
+     */
+    public ConfigIntSet setView() {
+        return setView;
+    }
+
+    private IntSetSnapshot currentSet() {
+        return derived(IntSetSnapshot::of);
+    }
+
     @Override
     protected int[] createArray(int length) {
         return new int[length];
     }
 
     @Override
-    public boolean validateField() {
-        if (!super.validateField()) {
-            return false;
-        }
-        int[] ints = getField();
+    protected boolean validateElements(int[] ints) {
         boolean valid = true;
         for (int j = 0; j < ints.length; j++) {
             int i = ints[j];
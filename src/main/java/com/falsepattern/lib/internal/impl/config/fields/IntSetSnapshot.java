@@ -0,0 +1,81 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config.fields;
+
+import com.falsepattern.lib.config.ConfigIntSet;
+import lombok.val;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Immutable int set. Small non-negative values are stored in a bitset, anything else in a sorted array.
+ */
+final class IntSetSnapshot implements ConfigIntSet {
+    static final IntSetSnapshot EMPTY = new IntSetSnapshot(null, new int[0]);
+    private static final int MAX_BITSET_VALUE = 1 << 16;
+    private final BitSet bits;
+    private final int[] sorted;
+
+    private IntSetSnapshot(BitSet bits, int[] sorted) {
+        this.bits = bits;
+        this.sorted = sorted;
+    }
+
+    static IntSetSnapshot of(int[] values) {
+        if (values == null || values.length == 0) {
+            return EMPTY;
+        }
+        val sorted = Arrays.stream(values).sorted().distinct().toArray();
+        if (sorted[0] >= 0 && sorted[sorted.length - 1] < MAX_BITSET_VALUE) {
+            val bits = new BitSet(sorted[sorted.length - 1] + 1);
+            for (val value : sorted) {
+                bits.set(value);
+            }
+            return new IntSetSnapshot(bits, sorted);
+        }
+        return new IntSetSnapshot(null, sorted);
+    }
+
+    @Override
+    public boolean contains(int value) {
+        if (bits != null) {
+            return value >= 0 && bits.get(value);
+        }
+        return Arrays.binarySearch(sorted, value) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return sorted.length;
+    }
+
+    @Override
+    public int[] toArray() {
+        return sorted.clone();
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(sorted);
+    }
+}
@@ -24,7 +24,6 @@ package com.falsepattern.lib.internal.impl.config.fields;
 import com.falsepattern.lib.config.Config;
 import com.falsepattern.lib.config.event.ConfigValidationFailureEvent;
 import com.falsepattern.lib.internal.impl.config.ConfigFieldParameters;
-import lombok.SneakyThrows;
 import lombok.val;
 
 import net.minecraftforge.common.config.Property;
@@ -43,13 +42,11 @@ public class StringConfigField extends AConfigField<String> {
 
     public StringConfigField(ConfigFieldParameters params) {
         super(params, Property.Type.STRING);
-        pattern = Optional.ofNullable(field.getAnnotation(Config.Pattern.class))
-                          .map((ptr) -> Pattern.compile(ptr.value()))
-                          .orElse(null);
-        defaultValue = Optional.ofNullable(field.getAnnotation(Config.DefaultString.class))
+        pattern = schema.pattern();
+        defaultValue = Optional.ofNullable(schema.annotation(Config.DefaultString.class))
                                .map(Config.DefaultString::value)
                                .orElseThrow(() -> noDefault(field, "DefaultString"));
-        maxLength = Optional.ofNullable(field.getAnnotation(Config.StringMaxLength.class))
+        maxLength = Optional.ofNullable(schema.annotation(Config.StringMaxLength.class))
                             .map(Config.StringMaxLength::value)
                             .orElse(-1);
         val property = getProperty();
@@ -122,16 +119,14 @@ public class StringConfigField extends AConfigField<String> {
         return new String(arr);
     }
 
-    @SneakyThrows
     @Override
     protected String getField() {
-        return (String) field.get(null);
+        return (String) accessor.get();
     }
 
-    @SneakyThrows
     @Override
     protected void putField(String value) {
-        field.set(null, value);
+        accessor.set(value);
     }
 
     @Override
@@ -149,10 +144,18 @@ public class StringConfigField extends AConfigField<String> {
         return defaultValue;
     }
 
-    @SneakyThrows
     @Override
     public boolean validateField() {
-        return validateString(getField(), maxLength, pattern, field, -1);
+        val value = getField();
+        //Validation only depends on the string itself, no need to run the pattern on it again until it changes
+        if (value != null && value.equals(schema.validation().lastValid())) {
+            return true;
+        }
+        if (!validateString(value, maxLength, pattern, field, -1)) {
+            return false;
+        }
+        schema.validation().lastValid(value);
+        return true;
     }
 
     @Override
@@ -161,7 +164,17 @@ public class StringConfigField extends AConfigField<String> {
     }
 
     @Override
-    public void receive(DataInput input) throws IOException {
-        putField(receiveString(input, maxLength, field.getName(), field.getDeclaringClass().getName()));
+    protected String decode(DataInput input) throws IOException {
+        return receiveString(input, maxLength, field.getName(), field.getDeclaringClass().getName());
+    }
+
+    @Override
+    public void transmitCompact(DataOutput output) throws IOException {
+        CompactIO.writeString(output, getField());
+    }
+
+    @Override
+    protected String decodeCompact(DataInput input) throws IOException {
+        return CompactIO.readString(input, maxLength, field.getName(), field.getDeclaringClass().getName());
     }
 }
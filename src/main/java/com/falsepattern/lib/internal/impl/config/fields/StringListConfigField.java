@@ -31,13 +31,34 @@ import net.minecraftforge.common.config.Property;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.AbstractSet;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 public class StringListConfigField extends AListConfigField<String[], Config.DefaultStringList> {
     private final Pattern pattern;
     private final int maxStringLength;
+    private final Set<String> setView = new AbstractSet<String>() {
+        @Override
+        public boolean contains(Object o) {
+            return currentSet().contains(o);
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return currentSet().iterator();
+        }
+
+        @Override
+        public int size() {
+            return currentSet().size();
+        }
+    };
 
     public StringListConfigField(ConfigFieldParameters params) throws ConfigException {
         super(params,
@@ -46,10 +67,8 @@ public class StringListConfigField extends AListConfigField<String[], Config.Def
               Config.DefaultStringList::value,
               Property::setDefaultValues
               );
-        pattern = Optional.ofNullable(field.getAnnotation(Config.Pattern.class))
-                          .map((ptr) -> Pattern.compile(ptr.value()))
-                          .orElse(null);
-        maxStringLength = Optional.ofNullable(field.getAnnotation(Config.StringMaxLength.class))
+        pattern = schema.pattern();
+        maxStringLength = Optional.ofNullable(schema.annotation(Config.StringMaxLength.class))
                                   .map(Config.StringMaxLength::value)
                                   .orElse(-1);
         val property = getProperty();
@@ -98,21 +117,55 @@ public class StringListConfigField extends AListConfigField<String[], Config.Def
     }
 
     @Override
-    public boolean validateField() {
-        if (!super.validateField()) {
-            return false;
+    protected void transmitElementsCompact(DataOutput output, String[] arr) throws IOException {
+        for (val str : arr) {
+            CompactIO.writeString(output, str);
+        }
+    }
+
+    @Override
+    protected void receiveElementsCompact(DataInput input, String[] arr) throws IOException {
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = CompactIO.readString(input, maxStringLength, field.getName(), field.getDeclaringClass().getName());
         }
-        String[] strings = getField();
+    }
+
+    /**
+     * Elements that passed validation last time are not checked again, so that editing a single entry of a long list
+     * doesn't run the pattern on every other entry. Only the valid elements of the current list are remembered, and
+     * failures are rechecked to post their events.
+     */
+    @Override
+    protected boolean validateElements(String[] strings) {
+        val cache = schema.validation();
+        val previous = cache.validStrings();
+        val validStrings = new HashSet<String>();
         boolean valid = true;
         for (int i = 0; i < strings.length; i++) {
-            String str = strings[i];
-            if (!StringConfigField.validateString(str, maxStringLength, pattern, field, i)) {
+            val str = strings[i];
+            if (previous.contains(str) || validStrings.contains(str)
+                || StringConfigField.validateString(str, maxStringLength, pattern, field, i)) {
+                validStrings.add(str);
+            } else {
                 valid = false;
             }
         }
+        cache.validStrings(validStrings);
         return valid;
     }
 
+    /**
+     * @return A read-only set view of the elements of this field. It always reflects the current array in the field.
+     */
+    public Set<String> setView() {
+        return setView;
+    }
+
+    private Set<String> currentSet() {
+        return derived((arr) -> arr == null ? Collections.<String>emptySet()
+                                            : Collections.unmodifiableSet(new HashSet<>(Arrays.asList(arr))));
+    }
+
     @Override
     protected String[] createArray(int length) {
         return new String[length];
@@ -120,7 +173,8 @@ public class StringListConfigField extends AListConfigField<String[], Config.Def
 
     @Override
     protected String[] getConfig() {
-        return getProperty().getStringList();
+        //The property hands out its internal array
+        return arrayCopy(getProperty().getStringList());
     }
 
     @Override
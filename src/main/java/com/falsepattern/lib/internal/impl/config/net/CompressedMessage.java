@@ -34,14 +34,24 @@ import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.zip.Deflater;
-import java.util.zip.DeflaterOutputStream;
 import java.util.zip.Inflater;
 import java.util.zip.InflaterInputStream;
 
 public abstract class CompressedMessage implements IMessage {
+    /**
+     * zlib streams hold native memory until they are ended or collected, so every thread reuses its own. Deflaters are
+     * created for a single level, so the one of a thread gets ended and replaced when the level changes.
+     */
+    private static final ThreadLocal<LeveledDeflater> DEFLATER = new ThreadLocal<>();
+    private static final ThreadLocal<Inflater> INFLATER = ThreadLocal.withInitial(() -> new Inflater(false));
+    private static final byte[] EMPTY = new byte[0];
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[8192]);
+
+    private ExposedByteArrayOutputStream uncompressed;
     private byte[] compressed;
 
     public CompressedMessage() {
+        uncompressed = null;
         compressed = null;
     }
 
@@ -49,21 +59,63 @@ public abstract class CompressedMessage implements IMessage {
 
     protected abstract void receive(DataInput input) throws IOException;
 
+    protected int compressionLevel() {
+        return Deflater.BEST_COMPRESSION;
+    }
+
+    /**
+     * @return The compressed payload, compressing the output of {@link #transmit()} if that hasn't happened yet. Must
+     * not be modified.
+     */
+    public byte[] compressed() {
+        if (compressed == null && uncompressed != null) {
+            val output = new ByteArrayOutputStream(Math.max(64, uncompressed.size() / 4));
+            val deflater = deflater();
+            val scratch = SCRATCH.get();
+            try {
+                while (!deflater.finished()) {
+                    output.write(scratch, 0, deflater.deflate(scratch));
+                }
+            } finally {
+                release(deflater);
+            }
+            compressed = output.toByteArray();
+            uncompressed = null;
+        }
+        return compressed;
+    }
+
+    /**
+     * Uses an already compressed payload instead of calling {@link #transmit()}.
+     */
+    public void compressed(byte[] compressed) {
+        this.uncompressed = null;
+        this.compressed = compressed;
+    }
+
+    /**
+     * Serializes the message. Compression is deferred until {@link #toBytes(ByteBuf)}, which deflates straight into
+     * the packet buffer, or until {@link #compressed()} is called.
+     */
     public void transmit() throws IOException {
-        val output = new ByteArrayOutputStream();
-        val deflateOut = new DeflaterOutputStream(output, new Deflater(Deflater.BEST_COMPRESSION, false));
-        val dataOut = new DataOutputStream(deflateOut);
+        val output = new ExposedByteArrayOutputStream();
+        val dataOut = new DataOutputStream(output);
         transmit(dataOut);
-        dataOut.close();
-        compressed = output.toByteArray();
+        dataOut.flush();
+        uncompressed = output;
+        compressed = null;
     }
 
     public void receive() throws IOException {
-        val input = new ByteArrayInputStream(compressed);
-        val deflateIn = new InflaterInputStream(input, new Inflater(false));
-        val dataIn = new DataInputStream(deflateIn);
-        receive(dataIn);
-        dataIn.close();
+        val inflater = INFLATER.get();
+        inflater.reset();
+        try {
+            val input = new ByteArrayInputStream(compressed);
+            val dataIn = new DataInputStream(new InflaterInputStream(input, inflater));
+            receive(dataIn);
+        } finally {
+            inflater.reset();
+        }
         compressed = null;
     }
 
@@ -76,7 +128,57 @@ public abstract class CompressedMessage implements IMessage {
 
     @Override
     public void toBytes(ByteBuf buf) {
-        buf.writeInt(compressed.length);
-        buf.writeBytes(compressed);
+        if (compressed != null || uncompressed == null) {
+            buf.writeInt(compressed.length);
+            buf.writeBytes(compressed);
+            return;
+        }
+        val lengthIndex = buf.writerIndex();
+        buf.writeInt(0);
+        val deflater = deflater();
+        val scratch = SCRATCH.get();
+        try {
+            while (!deflater.finished()) {
+                buf.writeBytes(scratch, 0, deflater.deflate(scratch));
+            }
+        } finally {
+            release(deflater);
+        }
+        buf.setInt(lengthIndex, buf.writerIndex() - lengthIndex - 4);
+    }
+
+    /**
+     * @return This thread's deflater for our compression level, with the uncompressed payload as its finished input.
+     */
+    private Deflater deflater() {
+        val level = Math.max(Deflater.NO_COMPRESSION, Math.min(Deflater.BEST_COMPRESSION, compressionLevel()));
+        var current = DEFLATER.get();
+        if (current == null || current.level() != level) {
+            if (current != null) {
+                current.deflater().end();
+            }
+            current = new LeveledDeflater(level, new Deflater(level, false));
+            DEFLATER.set(current);
+        }
+        val deflater = current.deflater();
+        deflater.setInput(uncompressed.buffer(), 0, uncompressed.size());
+        deflater.finish();
+        return deflater;
+    }
+
+    /**
+     * Readies the deflater for the next message. Resetting alone would keep the last input array reachable.
+     */
+    private static void release(Deflater deflater) {
+        deflater.reset();
+        deflater.setInput(EMPTY);
+    }
+
+    private record LeveledDeflater(int level, Deflater deflater) {}
+
+    private static final class ExposedByteArrayOutputStream extends ByteArrayOutputStream {
+        byte[] buffer() {
+            return buf;
+        }
     }
 }
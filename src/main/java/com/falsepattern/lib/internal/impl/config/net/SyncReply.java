@@ -21,23 +21,46 @@
  */
 package com.falsepattern.lib.internal.impl.config.net;
 
+import com.falsepattern.lib.internal.config.ConfigEngineConfig;
 import com.falsepattern.lib.internal.impl.config.ConfigurationManagerImpl;
+import com.falsepattern.lib.internal.impl.config.RequestedConfigs;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
-import java.util.List;
 
 public class SyncReply extends CompressedMessage {
-    public List<Class<?>> matchingClassesOnOurSide;
+    public RequestedConfigs requested;
+    public Runnable apply;
+    /**
+     * Hash of the configs in this reply, set by {@link #transmit()}.
+     */
+    public long payloadHash;
+    /**
+     * The client already has this reply stored, only the hash is sent.
+     */
+    public boolean unchanged;
+    /**
+     * This reply was loaded from the client's own store instead of received.
+     */
+    public boolean fromStore;
+
+    @Override
+    protected int compressionLevel() {
+        return ConfigEngineConfig.CONFIG_SYNC_COMPRESSION_LEVEL;
+    }
 
     @Override
     protected void transmit(DataOutput output) throws IOException {
-        ConfigurationManagerImpl.sendReply(output, matchingClassesOnOurSide);
+        if (unchanged) {
+            ConfigurationManagerImpl.sendUnchangedReply(output, payloadHash);
+        } else {
+            payloadHash = ConfigurationManagerImpl.sendReply(output, requested);
+        }
     }
 
     @Override
     protected void receive(DataInput input) throws IOException {
-        ConfigurationManagerImpl.receiveReply(input);
+        apply = ConfigurationManagerImpl.decodeReply(input, this);
     }
 }
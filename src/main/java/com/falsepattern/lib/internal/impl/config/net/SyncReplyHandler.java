@@ -22,6 +22,8 @@
 package com.falsepattern.lib.internal.impl.config.net;
 
 import com.falsepattern.lib.internal.FPLog;
+import com.falsepattern.lib.internal.impl.config.ConfigurationManagerImpl;
+import lombok.val;
 
 import cpw.mods.fml.common.network.simpleimpl.IMessage;
 import cpw.mods.fml.common.network.simpleimpl.IMessageHandler;
@@ -29,8 +31,20 @@ import cpw.mods.fml.common.network.simpleimpl.MessageContext;
 import cpw.mods.fml.relauncher.Side;
 
 import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 public class SyncReplyHandler implements IMessageHandler<SyncReply, IMessage> {
+    /**
+     * Inflating and decoding large replies happens here instead of on the network thread. A single thread keeps the
+     * replies in order.
+     */
+    private static final Executor DECODER = Executors.newSingleThreadExecutor((task) -> {
+        val thread = new Thread(task);
+        thread.setName("Config Sync Decoder");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     @Override
     public IMessage onMessage(SyncReply message, MessageContext ctx) {
@@ -38,11 +52,18 @@ public class SyncReplyHandler implements IMessageHandler<SyncReply, IMessage> {
             //Do not sync client to server
             return null;
         }
-        try {
-            message.receive();
-        } catch (IOException e) {
-            FPLog.LOG.error("Failed to sync config", e);
-        }
+        DECODER.execute(() -> {
+            try {
+                message.receive();
+                if (message.unchanged) {
+                    ConfigurationManagerImpl.scheduleClientTask(ConfigurationManagerImpl.applyStoredReply(message.payloadHash));
+                } else {
+                    ConfigurationManagerImpl.scheduleClientTask(message.apply);
+                }
+            } catch (IOException e) {
+                FPLog.LOG.error("Failed to sync config", e);
+            }
+        });
         return null;
     }
 }
@@ -22,14 +22,14 @@
 package com.falsepattern.lib.internal.impl.config.net;
 
 import com.falsepattern.lib.internal.impl.config.ConfigurationManagerImpl;
+import com.falsepattern.lib.internal.impl.config.RequestedConfigs;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
-import java.util.List;
 
 public class SyncRequest extends CompressedMessage {
-    public List<Class<?>> matchingClassesOnOurSide;
+    public RequestedConfigs requested;
 
     @Override
     protected void transmit(DataOutput output) throws IOException {
@@ -38,6 +38,6 @@ public class SyncRequest extends CompressedMessage {
 
     @Override
     protected void receive(DataInput input) throws IOException {
-        matchingClassesOnOurSide = ConfigurationManagerImpl.receiveRequest(input);
+        requested = ConfigurationManagerImpl.receiveRequest(input);
     }
 }
@@ -23,6 +23,7 @@ package com.falsepattern.lib.internal.impl.config.net;
 
 import com.falsepattern.lib.internal.FPLog;
 import com.falsepattern.lib.internal.FalsePatternLib;
+import com.falsepattern.lib.internal.impl.config.ConfigurationManagerImpl;
 import lombok.val;
 
 import net.minecraft.client.Minecraft;
@@ -51,9 +52,7 @@ public class SyncRequestHandler implements IMessageHandler<SyncRequest, IMessage
         }
         try {
             message.receive();
-            val reply = new SyncReply();
-            reply.matchingClassesOnOurSide = message.matchingClassesOnOurSide;
-            reply.transmit();
+            val reply = ConfigurationManagerImpl.createReply(message.requested);
             FalsePatternLib.NETWORK.sendTo(reply, ctx.getServerHandler().playerEntity);
             return null;
         } catch (IOException e) {
@@ -22,11 +22,13 @@
 package com.falsepattern.lib.internal.proxy;
 
 import com.falsepattern.lib.internal.config.InGameModOptionsFix;
+import com.falsepattern.lib.internal.impl.config.ConfigStatsCommand;
 import com.falsepattern.lib.internal.impl.config.event.ClientEventHandlerPost;
 import com.falsepattern.lib.internal.impl.config.event.ClientEventHandlerPre;
 import com.falsepattern.lib.internal.impl.toast.GuiToastImpl;
 
 import net.minecraft.client.Minecraft;
+import net.minecraftforge.client.ClientCommandHandler;
 import net.minecraftforge.common.MinecraftForge;
 import cpw.mods.fml.common.event.FMLConstructionEvent;
 import cpw.mods.fml.common.event.FMLInitializationEvent;
@@ -54,6 +56,7 @@ public class ClientProxy extends CommonProxy {
     public void init(FMLInitializationEvent e) {
         super.init(e);
         InGameModOptionsFix.init();
+        ClientCommandHandler.instance.registerCommand(new ConfigStatsCommand("fplibclient", 0));
     }
 
     @Override
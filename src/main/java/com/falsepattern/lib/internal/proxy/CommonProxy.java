@@ -22,6 +22,10 @@
 package com.falsepattern.lib.internal.proxy;
 
 import com.falsepattern.lib.internal.FalsePatternLib;
+import com.falsepattern.lib.internal.config.ConfigEngineConfig;
+import com.falsepattern.lib.internal.impl.config.ConfigStatsCommand;
+import com.falsepattern.lib.internal.impl.config.ConfigWriteScheduler;
+import com.falsepattern.lib.internal.impl.config.ConfigurationManagerImpl;
 import com.falsepattern.lib.internal.impl.config.event.CommonEventHandlerPost;
 import com.falsepattern.lib.internal.impl.config.event.CommonEventHandlerPre;
 import com.falsepattern.lib.internal.impl.config.net.SyncPrompt;
@@ -35,6 +39,9 @@ import cpw.mods.fml.common.event.FMLConstructionEvent;
 import cpw.mods.fml.common.event.FMLInitializationEvent;
 import cpw.mods.fml.common.event.FMLPostInitializationEvent;
 import cpw.mods.fml.common.event.FMLPreInitializationEvent;
+import cpw.mods.fml.common.event.FMLServerStartedEvent;
+import cpw.mods.fml.common.event.FMLServerStartingEvent;
+import cpw.mods.fml.common.event.FMLServerStoppingEvent;
 import cpw.mods.fml.relauncher.Side;
 
 public class CommonProxy {
@@ -54,4 +61,22 @@ public class CommonProxy {
     public void postInit(FMLPostInitializationEvent e) {
         CommonEventHandlerPost.registerBus();
     }
+
+    public void serverStarting(FMLServerStartingEvent e) {
+        e.registerServerCommand(new ConfigStatsCommand("fplib", 2));
+        if (ConfigEngineConfig.CONFIG_SYNC_PAYLOAD_STORE) {
+            ConfigurationManagerImpl.startSyncPayloadStore();
+        }
+    }
+
+    public void serverStarted(FMLServerStartedEvent e) {
+        if (ConfigEngineConfig.CONFIG_HOT_RELOAD) {
+            ConfigurationManagerImpl.startFileWatcher();
+        }
+    }
+
+    public void serverStopping(FMLServerStoppingEvent e) {
+        ConfigurationManagerImpl.stopFileWatcher();
+        ConfigWriteScheduler.flushAll();
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.mapping;
+
+import com.falsepattern.lib.mapping.types.MappingType;
+import com.falsepattern.lib.mapping.types.NameType;
+import com.falsepattern.lib.mapping.types.UniversalClass;
+import lombok.val;
+
+/**
+ * Small direct-mapped front cache for the most recently resolved class names.
+ * <p>
+ * Lock-free: entries are immutable, so a racy read either sees a fully constructed entry or a stale/missing one, both
+ * of which are fine for a cache. Every entry is stamped with the generation it was looked up in, and clearing the cache
+ * starts a new generation, so a lookup that raced with {@link #clear()} can't bring back a class from the discarded
+ * mappings.
+ */
+final class ClassLookupCache {
+    private static final int SIZE = 256;
+    private static final int MASK = SIZE - 1;
+
+    private volatile Entry[] entries = new Entry[SIZE];
+    private volatile int generation;
+
+    private static int slot(NameType nameType, MappingType mappingType, String name) {
+        int hash = name.hashCode() * 31 + nameType.ordinal() * 3 + mappingType.ordinal();
+        return (hash ^ (hash >>> 16)) & MASK;
+    }
+
+    UniversalClass get(NameType nameType, MappingType mappingType, String name) {
+        val entry = entries[slot(nameType, mappingType, name)];
+        if (entry != null
+            && entry.generation == generation
+            && entry.nameType == nameType
+            && entry.mappingType == mappingType
+            && entry.name.equals(name)) {
+            return entry.value;
+        }
+        return null;
+    }
+
+    /**
+     * @return The current generation. Must be read before looking up a class that is then passed to
+     * {@link #put(int, NameType, MappingType, String, UniversalClass)}.
+     */
+    int generation() {
+        return generation;
+    }
+
+    void put(int generation, NameType nameType, MappingType mappingType, String name, UniversalClass value) {
+        if (generation != this.generation) {
+            return;
+        }
+        entries[slot(nameType, mappingType, name)] = new Entry(generation, nameType, mappingType, name, value);
+    }
+
+    /**
+     * Must only be called by one thread at a time.
+     */
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    void clear() {
+        generation++;
+        entries = new Entry[SIZE];
+    }
+
+    private static final class Entry {
+        final int generation;
+        final NameType nameType;
+        final MappingType mappingType;
+        final String name;
+        final UniversalClass value;
+
+        Entry(int generation, NameType nameType, MappingType mappingType, String name, UniversalClass value) {
+            this.generation = generation;
+            this.nameType = nameType;
+            this.mappingType = mappingType;
+            this.name = name;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.mapping;
+
+import com.falsepattern.lib.mapping.storage.StringArena;
+import lombok.val;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Streaming tokenizer for the bundled mapping CSV files. Reads straight from the resource stream and splits each line
+ * on commas without going through {@link String#split(String)} or materializing the whole file in memory.
+ */
+final class MappingCsvReader implements Closeable {
+    private final InputStream input;
+    private final byte[] buffer = new byte[65536];
+    private final int[] columnStarts;
+    private final int[] columnEnds;
+    private int position = 0;
+    private int limit = 0;
+    private byte[] line = new byte[256];
+
+    MappingCsvReader(InputStream input, int columns) {
+        this.input = input;
+        columnStarts = new int[columns];
+        columnEnds = new int[columns];
+    }
+
+    /**
+     * Reads and tokenizes the next non-empty line.
+     *
+     * @return false if the end of the stream was reached, true otherwise.
+     *
+     * @throws IOException If the stream could not be read, or the line has the wrong amount of columns.
+     */
+    boolean next() throws IOException {
+        int length;
+        do {
+            length = readLine();
+            if (length < 0) {
+                return false;
+            }
+        } while (length == 0);
+        int column = 0;
+        int start = 0;
+        for (int i = 0; i <= length; i++) {
+            if (i == length || line[i] == ',') {
+                if (column == columnStarts.length) {
+                    throw new IOException("Too many columns in mapping line: " + new String(line, 0, length, StandardCharsets.UTF_8));
+                }
+                columnStarts[column] = start;
+                columnEnds[column] = i;
+                column++;
+                start = i + 1;
+            }
+        }
+        if (column != columnStarts.length) {
+            throw new IOException("Too few columns in mapping line: " + new String(line, 0, length, StandardCharsets.UTF_8));
+        }
+        return true;
+    }
+
+    /**
+     * Copies every column of the current line into the given array.
+     */
+    void read(String[] columns) {
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = column(i);
+        }
+    }
+
+    String column(int index) {
+        return new String(line, columnStarts[index], columnEnds[index] - columnStarts[index], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return The part of the column before the last '/', for example the owner class of a member.
+     */
+    String columnOwner(int index) {
+        val start = columnStarts[index];
+        return new String(line, start, lastSlash(index) - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Stores the column in the arena without creating a String for it.
+     */
+    int intern(int index, StringArena arena) {
+        return arena.intern(line, columnStarts[index], columnEnds[index] - columnStarts[index]);
+    }
+
+    /**
+     * Stores the part of the column after the last '/' in the arena without creating a String for it.
+     */
+    int internSimpleName(int index, StringArena arena) {
+        val start = lastSlash(index) + 1;
+        return arena.intern(line, start, columnEnds[index] - start);
+    }
+
+    private int lastSlash(int index) {
+        for (int i = columnEnds[index] - 1; i >= columnStarts[index]; i--) {
+            if (line[i] == '/') {
+                return i;
+            }
+        }
+        return columnStarts[index] - 1;
+    }
+
+    private int readLine() throws IOException {
+        int length = 0;
+        while (true) {
+            if (position == limit) {
+                limit = input.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    if (length == 0) {
+                        return -1;
+                    }
+                    break;
+                }
+            }
+            byte b = buffer[position++];
+            if (b == '\n') {
+                break;
+            }
+            if (length == line.length) {
+                line = Arrays.copyOf(line, length * 2);
+            }
+            line[length++] = b;
+        }
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        return length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+}
@@ -22,8 +22,10 @@
 package com.falsepattern.lib.mapping;
 
 import com.falsepattern.lib.internal.FPLog;
+import com.falsepattern.lib.internal.Tags;
 import com.falsepattern.lib.internal.asm.CoreLoadingPlugin;
 import com.falsepattern.lib.mapping.storage.Lookup;
+import com.falsepattern.lib.mapping.storage.StringArena;
 import com.falsepattern.lib.mapping.types.MappingType;
 import com.falsepattern.lib.mapping.types.NameType;
 import com.falsepattern.lib.mapping.types.UniversalClass;
@@ -32,18 +34,32 @@ import com.falsepattern.lib.mapping.types.UniversalMethod;
 import com.falsepattern.lib.util.ResourceUtil;
 import lombok.SneakyThrows;
 import lombok.val;
+import org.jetbrains.annotations.ApiStatus;
 import org.objectweb.asm.tree.FieldInsnNode;
 import org.objectweb.asm.tree.MethodInsnNode;
 
-import java.util.HashMap;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
 
 public class MappingManager {
+    /**
+     * Keeps field and method names as UTF-8 bytes until a class's members are first looked up, trading a bit of lookup
+     * latency for a lot less retained heap. Enable with {@code -Dfalsepatternlib.mapping.compactStrings=true}.
+     */
+    private static final boolean COMPACT_STRINGS = Boolean.parseBoolean(System.getProperty(Tags.MODID + ".mapping.compactStrings", "false"));
     private static Lookup<UniversalClass> internalLookup;
     private static Lookup<UniversalClass> regularLookup;
     private static boolean initialized = false;
     private static final Object MUTEX = new Object();
     private static final AtomicLong lastInitializedAt = new AtomicLong();
+    private static final ClassLookupCache lookupCache = new ClassLookupCache();
+    private static volatile RuntimeMappings runtimeMappings = null;
 
     private static class CleanupThread extends Thread {
         public CleanupThread() {
@@ -66,6 +82,11 @@ public class MappingManager {
                         continue;
                     }
                     FPLog.LOG.info("Terminating MappingManager");
+                    if (MappingStatistics.ENABLED) {
+                        MappingStatistics.log();
+                    }
+                    lookupCache.clear();
+                    runtimeMappings = null;
                     internalLookup = null;
                     regularLookup = null;
                     initialized = false;
@@ -87,47 +108,139 @@ public class MappingManager {
             FPLog.LOG.info("Initializing MappingManager");
             internalLookup = new Lookup<>();
             regularLookup = new Lookup<>();
-            val stringPool = new HashMap<String, String>();
-            val classMappings =
-                    new String(ResourceUtil.getResourceBytesFromJar("/classes.csv", CoreLoadingPlugin.class)).split("\n");
-            for (int i = 1; i < classMappings.length; i++) {
-                val line = classMappings[i].split(",");
-                val clazz = new UniversalClass(line, stringPool);
-                internalLookup.unwrap(clazz.internalName, clazz);
-                regularLookup.unwrap(clazz.regularName, clazz);
-            }
-            var fieldMappings =
-                    new String(ResourceUtil.getResourceBytesFromJar("/fields.csv", CoreLoadingPlugin.class)).split("\n");
-            for (int i = 1; i < fieldMappings.length; i++) {
-                val line = fieldMappings[i].split(",");
-                val clazz = internalLookup.get(MappingType.Notch, line[0].substring(0, line[0].lastIndexOf('/')));
-                UniversalField.createAndAddToParent(clazz, line, stringPool);
+            val stringPool = new ConcurrentHashMap<String, String>();
+            try (val classMappings = openMappings("/classes.csv", 3)) {
+                val line = new String[3];
+                classMappings.next();
+                while (classMappings.next()) {
+                    classMappings.read(line);
+                    val clazz = new UniversalClass(line, stringPool);
+                    internalLookup.unwrap(clazz.internalName, clazz);
+                    regularLookup.unwrap(clazz.regularName, clazz);
+                }
             }
-            val methodMappings =
-                    new String(ResourceUtil.getResourceBytesFromJar("/methods.csv", CoreLoadingPlugin.class)).split("\n");
-            for (int i = 1; i < methodMappings.length; i++) {
-                val line = methodMappings[i].split(",");
-                val clazz = internalLookup.get(MappingType.Notch, line[0].substring(0, line[0].lastIndexOf('/')));
-                UniversalMethod.createAndAddToParent(clazz, line, stringPool);
+            //Fields and methods go into separate lookups inside each class, so they can be loaded in parallel.
+            //The class lookups are only read from this point on.
+            val fieldLoader = new FutureTask<Void>(() -> {
+                loadFields(stringPool);
+                return null;
+            });
+            val fieldLoaderThread = new Thread(fieldLoader);
+            fieldLoaderThread.setName("MappingManager Field Loader");
+            fieldLoaderThread.setDaemon(true);
+            fieldLoaderThread.start();
+            loadMethods(stringPool);
+            try {
+                fieldLoader.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
             }
             lastInitializedAt.set(System.currentTimeMillis());
             cleanupThread.start();
         }
     }
 
+    private static MappingCsvReader openMappings(String resourcePath, int columns) throws IOException {
+        val stream = ResourceUtil.getResourceFromJar(resourcePath, CoreLoadingPlugin.class);
+        if (stream == null) {
+            throw new FileNotFoundException("Could not find resource at " + resourcePath);
+        }
+        return new MappingCsvReader(stream, columns);
+    }
+
+    private static void loadFields(Map<String, String> stringPool) throws IOException, Lookup.LookupException {
+        try (val fieldMappings = openMappings("/fields.csv", 3)) {
+            fieldMappings.next();
+            if (COMPACT_STRINGS) {
+                val arena = new StringArena();
+                while (fieldMappings.next()) {
+                    val clazz = internalLookup.get(MappingType.Notch, fieldMappings.columnOwner(0));
+                    clazz.addCompactField(arena,
+                                          fieldMappings.internSimpleName(0, arena),
+                                          fieldMappings.internSimpleName(1, arena),
+                                          fieldMappings.internSimpleName(2, arena));
+                }
+                arena.seal();
+                return;
+            }
+            val line = new String[3];
+            while (fieldMappings.next()) {
+                fieldMappings.read(line);
+                val clazz = internalLookup.get(MappingType.Notch, fieldMappings.columnOwner(0));
+                UniversalField.createAndAddToParent(clazz, line, stringPool);
+            }
+        }
+    }
+
+    private static void loadMethods(Map<String, String> stringPool) throws IOException, Lookup.LookupException {
+        try (val methodMappings = openMappings("/methods.csv", 6)) {
+            methodMappings.next();
+            if (COMPACT_STRINGS) {
+                val arena = new StringArena();
+                while (methodMappings.next()) {
+                    val clazz = internalLookup.get(MappingType.Notch, methodMappings.columnOwner(0));
+                    clazz.addCompactMethod(arena,
+                                           methodMappings.internSimpleName(0, arena),
+                                           methodMappings.intern(1, arena),
+                                           methodMappings.internSimpleName(2, arena),
+                                           methodMappings.intern(3, arena),
+                                           methodMappings.internSimpleName(4, arena),
+                                           methodMappings.intern(5, arena));
+                }
+                arena.seal();
+                return;
+            }
+            val line = new String[6];
+            while (methodMappings.next()) {
+                methodMappings.read(line);
+                val clazz = internalLookup.get(MappingType.Notch, methodMappings.columnOwner(0));
+                UniversalMethod.createAndAddToParent(clazz, line, stringPool);
+            }
+        }
+    }
+
+    /**
+     * Logs the lookup statistics of the mapping API. These are only collected if the game was started with
+     * {@code -Dfalsepatternlib.debug.mappingStatistics=true}.
+     */
+    @ApiStatus.AvailableSince("1.13.0")
+    public static void logStatistics() {
+        MappingStatistics.log();
+    }
+
     public static UniversalClass classForName(NameType nameType, MappingType mappingType, String className)
             throws ClassNotFoundException {
+        val cached = lookupCache.get(nameType, mappingType, className);
+        if (cached != null) {
+            lastInitializedAt.set(System.currentTimeMillis());
+            if (MappingStatistics.ENABLED) {
+                MappingStatistics.classLookup(nameType, mappingType, true, true);
+            }
+            return cached;
+        }
+        val generation = lookupCache.generation();
         initialize();
         try {
+            final UniversalClass result;
             switch (nameType) {
                 case Internal:
-                    return internalLookup.get(mappingType, className);
+                    result = internalLookup.get(mappingType, className);
+                    break;
                 case Regular:
-                    return regularLookup.get(mappingType, className);
+                    result = regularLookup.get(mappingType, className);
+                    break;
                 default:
                     throw new IllegalArgumentException("Invalid enum value " + nameType);
             }
+            lookupCache.put(generation, nameType, mappingType, className, result);
+            if (MappingStatistics.ENABLED) {
+                MappingStatistics.classLookup(nameType, mappingType, false, true);
+            }
+            return result;
         } catch (Lookup.LookupException e) {
+            if (MappingStatistics.ENABLED) {
+                MappingStatistics.classLookup(nameType, mappingType, false, false);
+            }
             throw new ClassNotFoundException("Could not find class \""
                                              + className
                                              + "\" with "
@@ -140,78 +253,139 @@ public class MappingManager {
     }
 
     public static boolean containsClass(NameType nameType, MappingType mappingType, String className) {
+        if (lookupCache.get(nameType, mappingType, className) != null) {
+            lastInitializedAt.set(System.currentTimeMillis());
+            if (MappingStatistics.ENABLED) {
+                MappingStatistics.classLookup(nameType, mappingType, true, true);
+            }
+            return true;
+        }
         initialize();
+        final boolean result;
         switch (nameType) {
             case Internal:
-                return internalLookup.containsKey(mappingType, className);
+                result = internalLookup.containsKey(mappingType, className);
+                break;
             case Regular:
-                return regularLookup.containsKey(mappingType, className);
+                result = regularLookup.containsKey(mappingType, className);
+                break;
             default:
                 throw new IllegalArgumentException("Invalid enum value " + nameType);
         }
+        if (MappingStatistics.ENABLED) {
+            MappingStatistics.classLookup(nameType, mappingType, false, result);
+        }
+        return result;
     }
 
     public static UniversalField getField(FieldInsnNode instruction)
             throws ClassNotFoundException, NoSuchFieldException {
-        initialize();
-        if (!CoreLoadingPlugin.isObfuscated()) {
-            try {
-                return classForName(NameType.Internal, MappingType.MCP, instruction.owner).getField(MappingType.MCP,
-                                                                                                    instruction.name);
-            } catch (ClassNotFoundException e) {
-                throw new ClassNotFoundException("Could not find the class "
-                                                 + instruction.owner
-                                                 + " in the MCP mappings. Are you sure it's a Minecraft class? (we're in dev, cannot use SRG or Notch here).");
+        val entry = runtimeClassCounted(instruction.owner, MappingStatistics::fieldLookup);
+        try {
+            val result = entry.clazz().getField(entry.mappingType(), instruction.name);
+            if (MappingStatistics.ENABLED) {
+                MappingStatistics.fieldLookup(entry.mappingType(), true);
             }
-        } else {
-            try {
-                return classForName(NameType.Internal, MappingType.SRG, instruction.owner).getField(MappingType.SRG,
-                                                                                                    instruction.name);
-            } catch (ClassNotFoundException e) {
-                try {
-                    return classForName(NameType.Internal,
-                                        MappingType.Notch,
-                                        instruction.owner).getField(MappingType.Notch, instruction.name);
-                } catch (ClassNotFoundException ex) {
-                    throw new ClassNotFoundException("Could not find the class "
-                                                     + instruction.owner
-                                                     + " neither in the SRG nor in the Notch mappings. Are you sure it's a Minecraft class? (we're in obf, cannot use MCP here)");
-                }
+            return result;
+        } catch (NoSuchFieldException e) {
+            if (MappingStatistics.ENABLED) {
+                MappingStatistics.fieldLookup(entry.mappingType(), false);
             }
+            throw e;
         }
     }
 
     public static UniversalMethod getMethod(MethodInsnNode instruction)
             throws ClassNotFoundException, NoSuchMethodException {
-        initialize();
-        if (!CoreLoadingPlugin.isObfuscated()) {
-            try {
-                return classForName(NameType.Internal, MappingType.MCP, instruction.owner).getMethod(MappingType.MCP,
-                                                                                                     instruction.name,
-                                                                                                     instruction.desc);
-            } catch (ClassNotFoundException e) {
-                throw new ClassNotFoundException("Could not find the class "
-                                                 + instruction.owner
-                                                 + " in the MCP mappings. Are you sure it's a Minecraft class? (we're in dev, cannot use SRG or Notch here).");
+        val entry = runtimeClassCounted(instruction.owner, MappingStatistics::methodLookup);
+        try {
+            val result = entry.clazz().getMethod(entry.mappingType(), instruction.name, instruction.desc);
+            if (MappingStatistics.ENABLED) {
+                MappingStatistics.methodLookup(entry.mappingType(), true);
+            }
+            return result;
+        } catch (NoSuchMethodException e) {
+            if (MappingStatistics.ENABLED) {
+                MappingStatistics.methodLookup(entry.mappingType(), false);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Same as {@link #runtimeClass(String)}, but counts a failed member lookup if the owner class is unknown. Those
+     * can't be attributed to the namespace that resolved them, so they're counted under the main namespace of the
+     * current environment.
+     */
+    private static RuntimeMappings.Entry runtimeClassCounted(String internalName,
+                                                             BiConsumer<MappingType, Boolean> statistics)
+            throws ClassNotFoundException {
+        try {
+            return runtimeClass(internalName);
+        } catch (ClassNotFoundException e) {
+            if (MappingStatistics.ENABLED) {
+                statistics.accept(CoreLoadingPlugin.isObfuscated() ? MappingType.SRG : MappingType.MCP, false);
             }
+            throw e;
+        }
+    }
+
+    /**
+     * Finds a class by the internal name it has in the currently running environment (MCP in dev, SRG or Notch in obf).
+     *
+     * @param internalName The internal name of the class, as seen in bytecode.
+     *
+     * @return The class.
+     *
+     * @throws ClassNotFoundException If no class has this name in any of the namespaces of the current environment.
+     */
+    @ApiStatus.AvailableSince("1.13.0")
+    public static UniversalClass runtimeClassForName(String internalName) throws ClassNotFoundException {
+        return runtimeClass(internalName).clazz();
+    }
+
+    /**
+     * @param internalName The internal name of the class, as seen in bytecode.
+     *
+     * @return The mapping type the given name belongs to in the currently running environment, or null if it's not a
+     * known class.
+     */
+    @ApiStatus.AvailableSince("1.13.0")
+    public static MappingType runtimeMappingType(String internalName) {
+        val entry = runtimeMappings().get(internalName);
+        return entry == null ? null : entry.mappingType();
+    }
+
+    private static RuntimeMappings.Entry runtimeClass(String internalName) throws ClassNotFoundException {
+        val entry = runtimeMappings().get(internalName);
+        if (entry != null) {
+            return entry;
+        }
+        if (!CoreLoadingPlugin.isObfuscated()) {
+            throw new ClassNotFoundException("Could not find the class "
+                                             + internalName
+                                             + " in the MCP mappings. Are you sure it's a Minecraft class? (we're in dev, cannot use SRG or Notch here).");
         } else {
-            try {
-                return classForName(NameType.Internal, MappingType.SRG, instruction.owner).getMethod(MappingType.SRG,
-                                                                                                     instruction.name,
-                                                                                                     instruction.desc);
-            } catch (ClassNotFoundException e) {
-                try {
-                    return classForName(NameType.Internal,
-                                        MappingType.Notch,
-                                        instruction.owner).getMethod(MappingType.Notch,
-                                                                     instruction.name,
-                                                                     instruction.desc);
-                } catch (ClassNotFoundException ex) {
-                    throw new ClassNotFoundException("Could not find the class "
-                                                     + instruction.owner
-                                                     + " neither in the SRG nor in the Notch mappings. Are you sure it's a Minecraft class? (we're in obf, cannot use MCP here)");
-                }
+            throw new ClassNotFoundException("Could not find the class "
+                                             + internalName
+                                             + " neither in the SRG nor in the Notch mappings. Are you sure it's a Minecraft class? (we're in obf, cannot use MCP here)");
+        }
+    }
+
+    private static RuntimeMappings runtimeMappings() {
+        var mappings = runtimeMappings;
+        if (mappings != null) {
+            lastInitializedAt.set(System.currentTimeMillis());
+            return mappings;
+        }
+        synchronized (MUTEX) {
+            initialize();
+            mappings = runtimeMappings;
+            if (mappings == null) {
+                mappings = RuntimeMappings.build(internalLookup, CoreLoadingPlugin.isObfuscated());
+                runtimeMappings = mappings;
             }
+            return mappings;
         }
     }
 }
@@ -0,0 +1,127 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.mapping;
+
+import com.falsepattern.lib.internal.FPLog;
+import com.falsepattern.lib.internal.Tags;
+import com.falsepattern.lib.mapping.types.MappingType;
+import com.falsepattern.lib.mapping.types.NameType;
+import lombok.val;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lookup counters for the mapping API. Only collected when the {@code falsepatternlib.debug.mappingStatistics} system
+ * property is set to true, as finding the calling class requires a stack walk.
+ */
+final class MappingStatistics {
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(Tags.MODID + ".debug.mappingStatistics", "false"));
+    private static final int MAPPING_TYPES = MappingType.values().length;
+    private static final int TOP_CALLERS = 10;
+
+    private static final LongAdder[] classLookups = adders(NameType.values().length * MAPPING_TYPES);
+    private static final LongAdder[] classMisses = adders(NameType.values().length * MAPPING_TYPES);
+    private static final LongAdder[] fieldLookups = adders(MAPPING_TYPES);
+    private static final LongAdder[] fieldMisses = adders(MAPPING_TYPES);
+    private static final LongAdder[] methodLookups = adders(MAPPING_TYPES);
+    private static final LongAdder[] methodMisses = adders(MAPPING_TYPES);
+    private static final LongAdder cacheHits = new LongAdder();
+    private static final Map<String, LongAdder> callers = new ConcurrentHashMap<>();
+
+    private static LongAdder[] adders(int count) {
+        val result = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = new LongAdder();
+        }
+        return result;
+    }
+
+    static void classLookup(NameType nameType, MappingType mappingType, boolean cached, boolean found) {
+        val index = nameType.ordinal() * MAPPING_TYPES + mappingType.ordinal();
+        classLookups[index].increment();
+        if (cached) {
+            cacheHits.increment();
+        }
+        if (!found) {
+            classMisses[index].increment();
+        }
+        countCaller();
+    }
+
+    static void fieldLookup(MappingType mappingType, boolean found) {
+        fieldLookups[mappingType.ordinal()].increment();
+        if (!found) {
+            fieldMisses[mappingType.ordinal()].increment();
+        }
+    }
+
+    static void methodLookup(MappingType mappingType, boolean found) {
+        methodLookups[mappingType.ordinal()].increment();
+        if (!found) {
+            methodMisses[mappingType.ordinal()].increment();
+        }
+    }
+
+    private static void countCaller() {
+        for (val frame : new Throwable().getStackTrace()) {
+            val className = frame.getClassName();
+            if (className.startsWith("com.falsepattern.lib.mapping.") || className.equals("com.falsepattern.lib.asm.ASMUtil")) {
+                continue;
+            }
+            callers.computeIfAbsent(className, (ignored) -> new LongAdder()).increment();
+            return;
+        }
+    }
+
+    static void log() {
+        if (!ENABLED) {
+            FPLog.LOG.info("Mapping statistics are disabled, start the game with -D{}.debug.mappingStatistics=true to collect them.", Tags.MODID);
+            return;
+        }
+        FPLog.LOG.info("MappingManager statistics (cache hits: {}):", cacheHits.sum());
+        for (val nameType : NameType.values()) {
+            for (val mappingType : MappingType.values()) {
+                val index = nameType.ordinal() * MAPPING_TYPES + mappingType.ordinal();
+                FPLog.LOG.info("  class {}/{}: {} lookups, {} misses",
+                               nameType,
+                               mappingType,
+                               classLookups[index].sum(),
+                               classMisses[index].sum());
+            }
+        }
+        for (val mappingType : MappingType.values()) {
+            val index = mappingType.ordinal();
+            FPLog.LOG.info("  field {}: {} lookups, {} misses", mappingType, fieldLookups[index].sum(), fieldMisses[index].sum());
+            FPLog.LOG.info("  method {}: {} lookups, {} misses", mappingType, methodLookups[index].sum(), methodMisses[index].sum());
+        }
+        val sortedCallers = new ArrayList<>(callers.entrySet());
+        sortedCallers.sort((a, b) -> Long.compare(b.getValue().sum(), a.getValue().sum()));
+        FPLog.LOG.info("  top callers:");
+        for (int i = 0; i < Math.min(TOP_CALLERS, sortedCallers.size()); i++) {
+            val entry = sortedCallers.get(i);
+            FPLog.LOG.info("    {}: {} class lookups", entry.getKey(), entry.getValue().sum());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.mapping;
+
+import com.falsepattern.lib.mapping.storage.Lookup;
+import com.falsepattern.lib.mapping.types.MappingType;
+import com.falsepattern.lib.mapping.types.UniversalClass;
+import lombok.val;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Internal class name -> class lookup for only the namespaces the running environment can encounter.
+ * <p>
+ * In dev this is just MCP. In obf, SRG names take precedence over Notch names, matching the order the lookups were
+ * previously tried in, so a single map probe replaces up to two failed lookups.
+ */
+final class RuntimeMappings {
+    private final Map<String, Entry> classes;
+
+    private RuntimeMappings(Map<String, Entry> classes) {
+        this.classes = classes;
+    }
+
+    static RuntimeMappings build(Lookup<UniversalClass> internalLookup, boolean obfuscated) {
+        val types = obfuscated ? new MappingType[]{MappingType.SRG, MappingType.Notch} : new MappingType[]{MappingType.MCP};
+        val values = internalLookup.values();
+        val classes = new HashMap<String, Entry>(values.size() * types.length * 2);
+        for (val type : types) {
+            for (val clazz : values) {
+                classes.putIfAbsent(clazz.internalName.get(type), new Entry(clazz, type));
+            }
+        }
+        return new RuntimeMappings(classes);
+    }
+
+    Entry get(String internalName) {
+        return classes.get(internalName);
+    }
+
+    record Entry(UniversalClass clazz, MappingType mappingType) {
+    }
+}
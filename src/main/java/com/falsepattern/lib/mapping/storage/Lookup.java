@@ -28,6 +28,7 @@ import lombok.experimental.Accessors;
 import lombok.val;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -56,6 +57,14 @@ public class Lookup<T> {
         return values.contains(value);
     }
 
+    /**
+     * @return An unmodifiable view of every value stored in this lookup.
+     */
+    @ApiStatus.AvailableSince("1.13.0")
+    public Set<T> values() {
+        return Collections.unmodifiableSet(values);
+    }
+
     public boolean containsKey(MappingType mappingType, String key) {
         switch (mappingType) {
             case Notch:
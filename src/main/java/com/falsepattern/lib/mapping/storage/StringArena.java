@@ -0,0 +1,140 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.mapping.storage;
+
+import lombok.val;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Deduplicating store of UTF-8 encoded strings in a single byte array, addressed by int handles. Strings are only
+ * materialized when {@link #get(int)} is called.
+ * <p>
+ * Not thread safe while being filled. After {@link #seal()}, only {@link #get(int)} may be called, which is safe from
+ * any thread.
+ */
+@ApiStatus.Internal
+public final class StringArena {
+    private static final int MAX_LENGTH = 0xFFFF;
+
+    private byte[] data = new byte[1 << 16];
+    private int size = 0;
+    private int[] table = new int[1 << 12];
+    private int count = 0;
+
+    private static int hash(byte[] source, int offset, int length) {
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + source[offset + i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private int lengthOf(int handle) {
+        return ((data[handle] & 0xFF) << 8) | (data[handle + 1] & 0xFF);
+    }
+
+    private boolean matches(int handle, byte[] source, int offset, int length) {
+        if (lengthOf(handle) != length) {
+            return false;
+        }
+        int start = handle + 2;
+        for (int i = 0; i < length; i++) {
+            if (data[start + i] != source[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insert(int handle, int hash) {
+        int mask = table.length - 1;
+        int i = hash & mask;
+        while (table[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        //0 marks an empty slot, so handles are stored off by one
+        table[i] = handle + 1;
+    }
+
+    /**
+     * Stores the given UTF-8 bytes, or finds an identical already stored string.
+     *
+     * @return The handle of the string.
+     */
+    public int intern(byte[] source, int offset, int length) {
+        if (table == null) {
+            throw new IllegalStateException("StringArena is sealed");
+        }
+        if (length > MAX_LENGTH) {
+            throw new IllegalArgumentException("String too long for arena: " + length + " bytes");
+        }
+        int hash = hash(source, offset, length);
+        int mask = table.length - 1;
+        for (int i = hash & mask; table[i] != 0; i = (i + 1) & mask) {
+            int handle = table[i] - 1;
+            if (matches(handle, source, offset, length)) {
+                return handle;
+            }
+        }
+        if (size + length + 2 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, size + length + 2));
+        }
+        int handle = size;
+        data[size++] = (byte) (length >>> 8);
+        data[size++] = (byte) length;
+        System.arraycopy(source, offset, data, size, length);
+        size += length;
+        if (++count * 2 > table.length) {
+            val old = table;
+            table = new int[old.length * 2];
+            for (int entry : old) {
+                if (entry != 0) {
+                    insert(entry - 1, hash(data, entry + 1, lengthOf(entry - 1)));
+                }
+            }
+        }
+        insert(handle, hash);
+        return handle;
+    }
+
+    public String get(int handle) {
+        return new String(data, handle + 2, lengthOf(handle), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Drops the deduplication table and trims the storage. No more strings can be added afterward.
+     */
+    public void seal() {
+        table = null;
+        data = Arrays.copyOf(data, size);
+    }
+
+    /**
+     * @return The amount of bytes used by the stored strings.
+     */
+    public int size() {
+        return size;
+    }
+}
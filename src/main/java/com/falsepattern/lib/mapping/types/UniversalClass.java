@@ -24,11 +24,16 @@ package com.falsepattern.lib.mapping.types;
 import com.falsepattern.lib.internal.asm.CoreLoadingPlugin;
 import com.falsepattern.lib.mapping.storage.Lookup;
 import com.falsepattern.lib.mapping.storage.MappedString;
+import com.falsepattern.lib.mapping.storage.StringArena;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
 import lombok.experimental.Accessors;
+import lombok.val;
+import org.jetbrains.annotations.ApiStatus;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 
 @Accessors(fluent = true)
@@ -47,6 +52,13 @@ public class UniversalClass {
     private final Lookup<UniversalField> fields = new Lookup<>();
     private final Lookup<UniversalMethod> methods = new Lookup<>();
 
+    private StringArena fieldArena = null;
+    private volatile int[] pendingFields = null;
+    private int pendingFieldCount = 0;
+    private StringArena methodArena = null;
+    private volatile int[] pendingMethods = null;
+    private int pendingMethodCount = 0;
+
     private Class<?> javaClassCache = null;
     @Getter
     private MappingType realClassMapping = null;
@@ -70,6 +82,72 @@ public class UniversalClass {
         methods.unwrap(method.fusedNameDescriptor, method);
     }
 
+    private static int[] append(int[] rows, int count, int... row) {
+        if (rows == null) {
+            rows = new int[row.length * 4];
+        } else if (count + row.length > rows.length) {
+            rows = Arrays.copyOf(rows, rows.length * 2);
+        }
+        System.arraycopy(row, 0, rows, count, row.length);
+        return rows;
+    }
+
+    /**
+     * Stores a field mapping as arena handles, the field is only created on the first field lookup in this class.
+     */
+    @ApiStatus.Internal
+    public void addCompactField(StringArena arena, int notch, int srg, int mcp) {
+        fieldArena = arena;
+        pendingFields = append(pendingFields, pendingFieldCount, notch, srg, mcp);
+        pendingFieldCount += 3;
+    }
+
+    /**
+     * Stores a method mapping as arena handles, the method is only created on the first method lookup in this class.
+     */
+    @ApiStatus.Internal
+    public void addCompactMethod(StringArena arena, int notch, int notchDesc, int srg, int srgDesc, int mcp, int mcpDesc) {
+        methodArena = arena;
+        pendingMethods = append(pendingMethods, pendingMethodCount, notch, notchDesc, srg, srgDesc, mcp, mcpDesc);
+        pendingMethodCount += 6;
+    }
+
+    private static String[] materialize(StringArena arena, int[] rows, int offset, int stride, Map<String, String> stringPool) {
+        val names = new String[stride];
+        for (int i = 0; i < stride; i++) {
+            names[i] = stringPool.computeIfAbsent(arena.get(rows[offset + i]), (str) -> str);
+        }
+        return names;
+    }
+
+    private synchronized void materializeFields() {
+        val rows = pendingFields;
+        if (rows == null) {
+            return;
+        }
+        val stringPool = new HashMap<String, String>();
+        for (int i = 0; i < pendingFieldCount; i += 3) {
+            UniversalField.createAndAddToParent(this, materialize(fieldArena, rows, i, 3, stringPool), stringPool);
+        }
+        fieldArena = null;
+        pendingFieldCount = 0;
+        pendingFields = null;
+    }
+
+    private synchronized void materializeMethods() {
+        val rows = pendingMethods;
+        if (rows == null) {
+            return;
+        }
+        val stringPool = new HashMap<String, String>();
+        for (int i = 0; i < pendingMethodCount; i += 6) {
+            UniversalMethod.createAndAddToParent(this, materialize(methodArena, rows, i, 6, stringPool), stringPool);
+        }
+        methodArena = null;
+        pendingMethodCount = 0;
+        pendingMethods = null;
+    }
+
     public Class<?> asJavaClass() throws ClassNotFoundException {
         if (javaClassCache != null) {
             return javaClassCache;
@@ -110,6 +188,9 @@ public class UniversalClass {
     }
 
     public UniversalField getField(MappingType mappingType, String fieldName) throws NoSuchFieldException {
+        if (pendingFields != null) {
+            materializeFields();
+        }
         try {
             return fields.get(mappingType, fieldName);
         } catch (Lookup.LookupException e) {
@@ -119,6 +200,9 @@ public class UniversalClass {
 
     public UniversalMethod getMethod(MappingType mappingType, String methodName, String methodDescriptor)
             throws NoSuchMethodException {
+        if (pendingMethods != null) {
+            materializeMethods();
+        }
         try {
             return methods.get(mappingType, methodName + methodDescriptor);
         } catch (Lookup.LookupException e) {
@@ -0,0 +1,122 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.minecraft.launchwrapper.Launch;
+import net.minecraftforge.common.config.Configuration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BinaryConfigStoreTest {
+    @TempDir
+    Path home;
+    private File oldHome;
+    private Path configFile;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        assumeTrue(BinaryConfigStore.ENABLED, "binary config storage is disabled");
+        oldHome = Launch.minecraftHome;
+        Launch.minecraftHome = home.toFile();
+        configFile = home.resolve("config").resolve("test.cfg");
+        Files.createDirectories(configFile.getParent());
+        Files.write(configFile, "# Configuration file\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @AfterEach
+    void tearDown() {
+        Launch.minecraftHome = oldHome;
+    }
+
+    private static Configuration sample() {
+        var config = new Configuration();
+        config.get("general", "number", 42);
+        config.get("general", "text", "h\u00e9llo");
+        config.get("general", "list", new String[]{"a", "", "c"});
+        config.get("other", "flag", true);
+        return config;
+    }
+
+    private void store(Configuration config) throws IOException {
+        var contents = BinaryConfigStore.render(config, configFile);
+        assertNotNull(contents);
+        BinaryConfigStore.write(configFile, contents);
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        store(sample());
+        assertTrue(Files.exists(BinaryConfigStore.binaryFile(configFile)));
+
+        var loaded = new Configuration();
+        assertTrue(BinaryConfigStore.load(loaded, configFile));
+        assertEquals(sample().getCategoryNames(), loaded.getCategoryNames());
+        var general = loaded.getCategory("general");
+        assertEquals(42, general.get("number").getInt());
+        assertEquals("h\u00e9llo", general.get("text").getString());
+        assertTrue(general.get("list").isList());
+        assertArrayEquals(new String[]{"a", "", "c"}, general.get("list").getStringList());
+        assertTrue(loaded.getCategory("other").get("flag").getBoolean());
+    }
+
+    @Test
+    void staleStamp() throws IOException {
+        store(sample());
+        //Edited by hand after the binary copy was written
+        Files.write(configFile, "general {\n}\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        var loaded = new Configuration();
+        assertFalse(BinaryConfigStore.load(loaded, configFile));
+        assertTrue(loaded.getCategoryNames().isEmpty());
+    }
+
+    @Test
+    void missingBinaryCopy() {
+        assertFalse(BinaryConfigStore.load(new Configuration(), configFile));
+    }
+
+    @Test
+    void outsideConfigDirectory() throws IOException {
+        var outside = home.resolve("elsewhere.cfg");
+        Files.write(outside, new byte[0]);
+        assertNull(BinaryConfigStore.binaryFile(outside));
+        assertNull(BinaryConfigStore.render(sample(), outside));
+    }
+}
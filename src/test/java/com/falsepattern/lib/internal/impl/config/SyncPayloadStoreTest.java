@@ -0,0 +1,100 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyncPayloadStoreTest {
+    private static final int VERSION = 4;
+    private static final byte[] BODY = "config values".getBytes(StandardCharsets.UTF_8);
+
+    private static long hash(byte[] body) {
+        var hash = new HashOutputStream();
+        hash.write(body, 0, body.length);
+        return hash.finish();
+    }
+
+    private static byte[] payload(int version, long payloadHash, byte[] body) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            output.writeInt(-1);
+            output.writeInt(version);
+            output.writeLong(payloadHash);
+            output.write(body);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void matchingPayload() throws IOException {
+        var payloadHash = hash(BODY);
+        assertTrue(SyncPayloadStore.matches(payload(VERSION, payloadHash, BODY), payloadHash, VERSION));
+    }
+
+    @Test
+    void renamedFile() throws IOException {
+        //A valid payload stored under the name of another one
+        var payloadHash = hash(BODY);
+        var compressed = payload(VERSION, payloadHash, BODY);
+        assertFalse(SyncPayloadStore.matches(compressed, payloadHash + 1, VERSION));
+        assertFalse(SyncPayloadStore.matches(compressed, payloadHash, VERSION + 1));
+    }
+
+    @Test
+    void tamperedContents() throws IOException {
+        //The header claims the right hash, but the contents don't match it
+        var payloadHash = hash(BODY);
+        var other = "other values".getBytes(StandardCharsets.UTF_8);
+        assertFalse(SyncPayloadStore.matches(payload(VERSION, payloadHash, other), payloadHash, VERSION));
+    }
+
+    @Test
+    void foreignFile() throws IOException {
+        var payloadHash = hash(BODY);
+        assertFalse(SyncPayloadStore.matches("not a payload".getBytes(StandardCharsets.UTF_8), payloadHash, VERSION));
+        assertFalse(SyncPayloadStore.matches(new byte[0], payloadHash, VERSION));
+        //Compressed, but not a reply
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new DeflaterOutputStream(bytes)) {
+            output.write(BODY);
+        }
+        assertFalse(SyncPayloadStore.matches(bytes.toByteArray(), payloadHash, VERSION));
+    }
+
+    @Test
+    void truncatedPayload() throws IOException {
+        var payloadHash = hash(BODY);
+        var compressed = payload(VERSION, payloadHash, BODY);
+        var truncated = new byte[compressed.length / 2];
+        System.arraycopy(compressed, 0, truncated, 0, truncated.length);
+        assertFalse(SyncPayloadStore.matches(truncated, payloadHash, VERSION));
+    }
+}
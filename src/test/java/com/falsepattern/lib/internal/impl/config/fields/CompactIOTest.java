@@ -0,0 +1,113 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config.fields;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactIOTest {
+    private interface Writer {
+        void write(DataOutputStream output) throws IOException;
+    }
+
+    private static byte[] write(Writer writer) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new DataOutputStream(bytes)) {
+            writer.write(output);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static DataInputStream input(byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    @Test
+    void varIntRoundTrip() throws IOException {
+        int[] values = {0, 1, 127, 128, 16383, 16384, 2097151, 2097152, Integer.MAX_VALUE, -1, Integer.MIN_VALUE};
+        int[] lengths = {1, 1, 1, 2, 2, 3, 3, 4, 5, 5, 5};
+        for (int i = 0; i < values.length; i++) {
+            var value = values[i];
+            var bytes = write((output) -> CompactIO.writeVarInt(output, value));
+            assertEquals(lengths[i], bytes.length, "encoded length of " + value);
+            assertEquals(value, CompactIO.readVarInt(input(bytes)));
+        }
+    }
+
+    @Test
+    void varIntTooLong() {
+        var bytes = new byte[]{(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01};
+        assertThrows(IOException.class, () -> CompactIO.readVarInt(input(bytes)));
+    }
+
+    @Test
+    void stringRoundTrip() throws IOException {
+        for (var value : new String[]{"", "ascii", "\u00e9\u00e8", "\u2603 snow", "\ud83d\ude00 emoji"}) {
+            var bytes = write((output) -> CompactIO.writeString(output, value));
+            assertEquals(value, CompactIO.readString(input(bytes), value.length(), "value", "test"));
+            assertEquals(value, CompactIO.readString(input(bytes), -1, "value", "test"));
+        }
+    }
+
+    @Test
+    void stringIsUtf8() throws IOException {
+        var bytes = write((output) -> CompactIO.writeString(output, "\u00e9"));
+        assertArrayEquals(new byte[]{2, (byte) 0xC3, (byte) 0xA9}, bytes);
+    }
+
+    @Test
+    void stringTooLong() throws IOException {
+        var bytes = write((output) -> CompactIO.writeString(output, "abcd"));
+        assertThrows(IOException.class, () -> CompactIO.readString(input(bytes), 3, "value", "test"));
+    }
+
+    @Test
+    void stringTooLongInChars() throws IOException {
+        //6 bytes fit into the byte limit of 2 chars, but decode to 3 chars
+        var bytes = write((output) -> CompactIO.writeString(output, "\u00e9\u00e9\u00e9"));
+        assertThrows(IOException.class, () -> CompactIO.readString(input(bytes), 2, "value", "test"));
+    }
+
+    @Test
+    void stringLengthCheckedBeforeReading() throws IOException {
+        //Claims a huge string without the bytes to back it up, must fail on the length and not on the missing data
+        var bytes = write((output) -> CompactIO.writeVarInt(output, Integer.MAX_VALUE));
+        var e = assertThrows(IOException.class, () -> CompactIO.readString(input(bytes), 16, "value", "test"));
+        assertTrue(e.getMessage().contains("Illegal string length"));
+    }
+
+    @Test
+    void stringNegativeLength() throws IOException {
+        var bytes = write((output) -> CompactIO.writeVarInt(output, -1));
+        assertThrows(IOException.class, () -> CompactIO.readString(input(bytes), -1, "value", "test"));
+    }
+}
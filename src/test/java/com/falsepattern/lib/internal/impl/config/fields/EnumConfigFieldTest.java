@@ -0,0 +1,146 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config.fields;
+
+import com.falsepattern.lib.config.Config;
+import com.falsepattern.lib.internal.impl.config.ConfigFieldParameters;
+import com.falsepattern.lib.internal.impl.config.ConfigSchema;
+import org.junit.jupiter.api.Test;
+
+import net.minecraftforge.common.config.Configuration;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EnumConfigFieldTest {
+    public enum Mode {
+        FIRST,
+        SECOND,
+        THIRD
+    }
+
+    public enum Reordered {
+        FIRST,
+        THIRD,
+        SECOND
+    }
+
+    public static class ModeConfig {
+        @Config.DefaultEnum("SECOND")
+        public static Mode mode;
+    }
+
+    public static class ReorderedConfig {
+        @Config.DefaultEnum("SECOND")
+        public static Reordered mode;
+    }
+
+    private static ConfigFieldParameters params(Class<?> configClass) {
+        var schema = ConfigSchema.of(configClass).fields().get(0);
+        return new ConfigFieldParameters(schema, new Configuration(), "test", "general", new LongAdder());
+    }
+
+    private interface Writer {
+        void write(DataOutputStream output) throws IOException;
+    }
+
+    private static byte[] write(Writer writer) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var output = new DataOutputStream(bytes)) {
+            writer.write(output);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static DataInputStream input(byte[] bytes) {
+        return new DataInputStream(new ByteArrayInputStream(bytes));
+    }
+
+    @Test
+    void compactRoundTrip() throws IOException {
+        var field = new EnumConfigField<Mode>(params(ModeConfig.class));
+        for (var value : Mode.values()) {
+            ModeConfig.mode = value;
+            var bytes = write(field::transmitCompact);
+            assertArrayEquals(new byte[]{(byte) value.ordinal()}, bytes);
+            assertEquals(value, field.decodeCompact(input(bytes)));
+            ModeConfig.mode = null;
+            field.stage(input(bytes), true).run();
+            assertEquals(value, ModeConfig.mode);
+        }
+    }
+
+    @Test
+    void regularRoundTrip() throws IOException {
+        var field = new EnumConfigField<Mode>(params(ModeConfig.class));
+        ModeConfig.mode = Mode.THIRD;
+        var bytes = write(field::transmit);
+        ModeConfig.mode = Mode.FIRST;
+        field.stage(input(bytes), false).run();
+        assertEquals(Mode.THIRD, ModeConfig.mode);
+    }
+
+    @Test
+    void invalidOrdinal() throws IOException {
+        var field = new EnumConfigField<Mode>(params(ModeConfig.class));
+        var tooLarge = write((output) -> CompactIO.writeVarInt(output, Mode.values().length));
+        assertThrows(IOException.class, () -> field.decodeCompact(input(tooLarge)));
+        var negative = write((output) -> CompactIO.writeVarInt(output, -1));
+        assertThrows(IOException.class, () -> field.decodeCompact(input(negative)));
+    }
+
+    @Test
+    void schemaContainsConstants() throws IOException {
+        var field = new EnumConfigField<Mode>(params(ModeConfig.class));
+        var expected = write((output) -> {
+            output.writeUTF(Mode.class.getName());
+            output.writeInt(3);
+            output.writeUTF("FIRST");
+            output.writeUTF("SECOND");
+            output.writeUTF("THIRD");
+        });
+        assertArrayEquals(expected, write(field::writeSchema));
+    }
+
+    @Test
+    void schemaChangesWithConstantOrder() throws IOException {
+        //Ordinals are only compatible if both sides have the same constants in the same order
+        var mode = write(new EnumConfigField<Mode>(params(ModeConfig.class))::writeSchema);
+        var reordered = write(new EnumConfigField<Reordered>(params(ReorderedConfig.class))::writeSchema);
+        var modeConstants = Arrays.copyOfRange(mode, Mode.class.getName().length() + 2, mode.length);
+        var reorderedConstants = Arrays.copyOfRange(reordered,
+                                                    Reordered.class.getName().length() + 2,
+                                                    reordered.length);
+        assertEquals(modeConstants.length, reorderedConstants.length);
+        assertFalse(Arrays.equals(modeConstants, reorderedConstants));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * This file is part of FalsePatternLib.
+ *
+ * Copyright (C) 2022-2025 FalsePattern
+ * All Rights Reserved
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * FalsePatternLib is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, only version 3 of the License.
+ *
+ * FalsePatternLib is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with FalsePatternLib. If not, see <https://www.gnu.org/licenses/>.
+ */
+package com.falsepattern.lib.internal.impl.config.fields;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IntSetSnapshotTest {
+    @Test
+    void empty() {
+        assertSame(IntSetSnapshot.EMPTY, IntSetSnapshot.of(null));
+        assertSame(IntSetSnapshot.EMPTY, IntSetSnapshot.of(new int[0]));
+        assertEquals(0, IntSetSnapshot.EMPTY.size());
+        assertFalse(IntSetSnapshot.EMPTY.contains(0));
+    }
+
+    @Test
+    void smallValues() {
+        var set = IntSetSnapshot.of(new int[]{5, 0, 65535});
+        assertTrue(set.contains(0));
+        assertTrue(set.contains(5));
+        assertTrue(set.contains(65535));
+        assertFalse(set.contains(1));
+        assertFalse(set.contains(-5));
+        assertFalse(set.contains(65536));
+        assertArrayEquals(new int[]{0, 5, 65535}, set.toArray());
+    }
+
+    @Test
+    void negativeValues() {
+        var set = IntSetSnapshot.of(new int[]{3, -1, Integer.MIN_VALUE});
+        assertTrue(set.contains(-1));
+        assertTrue(set.contains(Integer.MIN_VALUE));
+        assertTrue(set.contains(3));
+        assertFalse(set.contains(0));
+        assertFalse(set.contains(-2));
+        assertEquals(3, set.size());
+    }
+
+    @Test
+    void largeValues() {
+        var set = IntSetSnapshot.of(new int[]{65536, 7, Integer.MAX_VALUE});
+        assertTrue(set.contains(65536));
+        assertTrue(set.contains(7));
+        assertTrue(set.contains(Integer.MAX_VALUE));
+        assertFalse(set.contains(65535));
+        assertFalse(set.contains(8));
+        assertArrayEquals(new int[]{7, 65536, Integer.MAX_VALUE}, set.toArray());
+    }
+
+    @Test
+    void duplicates() {
+        var small = IntSetSnapshot.of(new int[]{4, 4, 1, 4, 1});
+        assertEquals(2, small.size());
+        assertArrayEquals(new int[]{1, 4}, small.toArray());
+        var large = IntSetSnapshot.of(new int[]{-4, 100000, -4, 100000});
+        assertEquals(2, large.size());
+        assertArrayEquals(new int[]{-4, 100000}, large.toArray());
+    }
+
+    @Test
+    void toArrayIsACopy() {
+        var set = IntSetSnapshot.of(new int[]{1, 2});
+        set.toArray()[0] = 3;
+        assertTrue(set.contains(1));
+        assertFalse(set.contains(3));
+    }
+}